@@ -39,8 +39,24 @@ dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // JDBC drivers for the SQL storage tests only; servers provide their own (see README)
+    testRuntimeOnly("com.h2database:h2:2.2.224")
+    testRuntimeOnly("org.xerial:sqlite-jdbc:3.46.1.3")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Benchmarks take a while and their timings vary by machine, so they only run on request.
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the benchmarks tagged \"benchmark\"."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
 }
\ No newline at end of file
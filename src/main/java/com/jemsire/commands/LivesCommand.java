@@ -10,17 +10,16 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.jemsire.config.LivesConfig;
 import com.jemsire.plugin.JemLives;
 import com.jemsire.ui.LivesInfoPage;
 import com.jemsire.utils.LivesManager;
-import com.jemsire.utils.PlaceholderReplacer;
-import com.jemsire.utils.TinyMsg;
+import com.jemsire.utils.Logger;
+import com.jemsire.utils.MessageCache;
+import com.jemsire.utils.PlayerDataCache;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.UncheckedIOException;
 
 public class LivesCommand extends AbstractCommandCollection {
 
@@ -30,18 +29,28 @@ public class LivesCommand extends AbstractCommandCollection {
     public static final String PERMISSION_INFO = "jemlives.info";
     /** Permission to reload config (/jemlives reload). */
     public static final String PERMISSION_RELOAD = "jemlives.reload";
+    /** Permission to view cache and performance statistics (/jemlives stats). */
+    public static final String PERMISSION_STATS = "jemlives.stats";
+    /** Permission to migrate legacy JSON player files (/jemlives migrate). */
+    public static final String PERMISSION_MIGRATE = "jemlives.migrate";
 
     public LivesCommand(String name, String description) {
         super(name, description);
         this.addSubCommand(new CheckCommand());
         this.addSubCommand(new InfoCommand());
         this.addSubCommand(new ReloadSubCommand());
+        this.addSubCommand(new StatsSubCommand());
+        this.addSubCommand(new MigrateSubCommand());
     }
 
     private static void sendNoPermission(CommandContext context) {
         context.sendMessage(Message.raw("You do not have permission to perform this command!").color(Color.RED));
     }
 
+    private static void sendLoadFailed(CommandContext context) {
+        context.sendMessage(Message.raw("Your lives could not be loaded. Please try again later.").color(Color.RED));
+    }
+
     /** Standalone /lives command — same behavior as /jemlives check. */
     public static class LivesCheckOnlyCommand extends AbstractPlayerCommand {
         public LivesCheckOnlyCommand() {
@@ -56,16 +65,17 @@ public class LivesCommand extends AbstractCommandCollection {
             }
             JemLives plugin = JemLives.get();
             LivesManager livesManager = plugin.getLivesManager();
-            LivesConfig config = plugin.getLivesConfig().get();
-
-            int lives = livesManager.getLives(playerRef.getUuid());
 
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("lives", String.valueOf(lives));
-            placeholders.put("player", playerRef.getUsername());
+            int lives;
+            try {
+                lives = livesManager.getLives(playerRef.getUuid());
+            } catch (UncheckedIOException e) {
+                sendLoadFailed(context);
+                return;
+            }
 
-            String message = PlaceholderReplacer.replacePlaceholders(config.getLivesCommandMessage(), placeholders);
-            context.sendMessage(TinyMsg.format(message));
+            String message = plugin.getLivesMessages().livesCommand(playerRef.getUsername(), lives);
+            context.sendMessage(MessageCache.format(message));
         }
     }
 
@@ -82,16 +92,17 @@ public class LivesCommand extends AbstractCommandCollection {
             }
             JemLives plugin = JemLives.get();
             LivesManager livesManager = plugin.getLivesManager();
-            LivesConfig config = plugin.getLivesConfig().get();
 
-            int lives = livesManager.getLives(playerRef.getUuid());
-
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("lives", String.valueOf(lives));
-            placeholders.put("player", playerRef.getUsername());
+            int lives;
+            try {
+                lives = livesManager.getLives(playerRef.getUuid());
+            } catch (UncheckedIOException e) {
+                sendLoadFailed(context);
+                return;
+            }
 
-            String message = PlaceholderReplacer.replacePlaceholders(config.getLivesCommandMessage(), placeholders);
-            context.sendMessage(TinyMsg.format(message));
+            String message = plugin.getLivesMessages().livesCommand(playerRef.getUsername(), lives);
+            context.sendMessage(MessageCache.format(message));
         }
     }
 
@@ -130,11 +141,76 @@ public class LivesCommand extends AbstractCommandCollection {
 
             JemLives plugin = JemLives.get();
             if (plugin != null) {
-                plugin.getLivesConfig().load();
+                plugin.reloadConfig();
                 context.sendMessage(Message.raw("Lives config reloaded.").color(Color.GREEN));
             } else {
                 context.sendMessage(Message.raw("Plugin not available.").color(Color.RED));
             }
         }
     }
+
+    static class StatsSubCommand extends AbstractPlayerCommand {
+        StatsSubCommand() {
+            super("stats", "Show JemLives cache statistics");
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            if (!context.sender().hasPermission(PERMISSION_STATS)) {
+                sendNoPermission(context);
+                return;
+            }
+
+            JemLives plugin = JemLives.get();
+            if (plugin == null) {
+                context.sendMessage(Message.raw("Plugin not available.").color(Color.RED));
+                return;
+            }
+
+            PlayerDataCache cache = plugin.getLivesManager().getCache();
+            long hits = cache.getHits();
+            long lookups = hits + cache.getMisses();
+            long hitRate = lookups > 0 ? hits * 100 / lookups : 0;
+            context.sendMessage(Message.raw("Lives cache: " + cache.size() + " cached, " + cache.pinnedCount() + " online").color(Color.GREEN));
+            context.sendMessage(Message.raw("Hits: " + hits + ", misses: " + cache.getMisses() + " (" + hitRate + "% hit rate), evictions: " + cache.getEvictions()).color(Color.GREEN));
+
+            long messageHits = MessageCache.getHits();
+            long messageLookups = messageHits + MessageCache.getMisses();
+            long messageHitRate = messageLookups > 0 ? messageHits * 100 / messageLookups : 0;
+            context.sendMessage(Message.raw("Message cache: " + MessageCache.size() + " cached, " + messageHitRate + "% hit rate, "
+                    + MessageCache.getAverageParseMicros() + "us per parse").color(Color.GREEN));
+            context.sendMessage(Message.raw("Dropped log entries: " + Logger.getDroppedCount()).color(Color.GREEN));
+        }
+    }
+
+    static class MigrateSubCommand extends AbstractPlayerCommand {
+        MigrateSubCommand() {
+            super("migrate", "Copy players/*.json files into the configured storage");
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            if (!context.sender().hasPermission(PERMISSION_MIGRATE)) {
+                sendNoPermission(context);
+                return;
+            }
+
+            JemLives plugin = JemLives.get();
+            if (plugin == null) {
+                context.sendMessage(Message.raw("Plugin not available.").color(Color.RED));
+                return;
+            }
+
+            context.sendMessage(Message.raw("Starting player data migration...").color(Color.GREEN));
+            plugin.getLivesManager().migrateFromJson(line -> {
+                Logger.info(line);
+                context.sendMessage(Message.raw(line).color(Color.GREEN));
+            }).exceptionally(e -> {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                Logger.severe("Player data migration failed", cause);
+                context.sendMessage(Message.raw("Migration failed: " + cause.getMessage()).color(Color.RED));
+                return 0;
+            });
+        }
+    }
 }
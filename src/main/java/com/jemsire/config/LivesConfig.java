@@ -25,6 +25,16 @@ public class LivesConfig {
     private boolean showLivesHud = true;
     private String hudIconPath = "Hud/lives_icon.png";
     private boolean updateCheck = true;
+    private int saveIntervalMs = 1000;
+    private int cacheIdleMinutes = 30;
+    private int cacheMaxSize = 5000;
+    private String storageType = "JSON"; // JSON, JOURNAL, MAPPED or SQL
+    private String sqlUrl = "";
+    private String durabilityMode = "NONE"; // NONE or GROUP_COMMIT
+    private int deathDigestWindowMs = 500;
+    private int deathDigestThreshold = 3;
+    private String deathDigestFormat = "<orange>{players} <red>died.";
+    private boolean eventLogEnabled = false;
 
     public LivesConfig() {
     }
@@ -111,6 +121,56 @@ public class LivesConfig {
                             (config, value, info) -> config.updateCheck =  value != null ? value : true,
                             (config, info) -> config.updateCheck
                     ).add()
+                    .append(
+                            new KeyedCodec<Integer>("SaveIntervalMs", Codec.INTEGER),
+                            (config, value, info) -> config.saveIntervalMs = value != null && value > 0 ? value : 1000,
+                            (config, info) -> config.saveIntervalMs
+                    ).add()
+                    .append(
+                            new KeyedCodec<Integer>("CacheIdleMinutes", Codec.INTEGER),
+                            (config, value, info) -> config.cacheIdleMinutes = value != null && value > 0 ? value : 30,
+                            (config, info) -> config.cacheIdleMinutes
+                    ).add()
+                    .append(
+                            new KeyedCodec<Integer>("CacheMaxSize", Codec.INTEGER),
+                            (config, value, info) -> config.cacheMaxSize = value != null && value > 0 ? value : 5000,
+                            (config, info) -> config.cacheMaxSize
+                    ).add()
+                    .append(
+                            new KeyedCodec<String>("StorageType", Codec.STRING),
+                            (config, value, info) -> config.storageType = value != null ? value : "JSON",
+                            (config, info) -> config.storageType
+                    ).add()
+                    .append(
+                            new KeyedCodec<String>("SqlUrl", Codec.STRING),
+                            (config, value, info) -> config.sqlUrl = value != null ? value : "",
+                            (config, info) -> config.sqlUrl
+                    ).add()
+                    .append(
+                            new KeyedCodec<String>("DurabilityMode", Codec.STRING),
+                            (config, value, info) -> config.durabilityMode = value != null ? value : "NONE",
+                            (config, info) -> config.durabilityMode
+                    ).add()
+                    .append(
+                            new KeyedCodec<Integer>("DeathDigestWindowMs", Codec.INTEGER),
+                            (config, value, info) -> config.deathDigestWindowMs = value != null ? value : 500,
+                            (config, info) -> config.deathDigestWindowMs
+                    ).add()
+                    .append(
+                            new KeyedCodec<Integer>("DeathDigestThreshold", Codec.INTEGER),
+                            (config, value, info) -> config.deathDigestThreshold = value != null ? value : 3,
+                            (config, info) -> config.deathDigestThreshold
+                    ).add()
+                    .append(
+                            new KeyedCodec<String>("DeathDigestFormat", Codec.STRING),
+                            (config, value, info) -> config.deathDigestFormat = value != null ? value : "<orange>{players} <red>died.",
+                            (config, info) -> config.deathDigestFormat
+                    ).add()
+                    .append(
+                            new KeyedCodec<Boolean>("EventLogEnabled", Codec.BOOLEAN),
+                            (config, value, info) -> config.eventLogEnabled = value != null ? value : false,
+                            (config, info) -> config.eventLogEnabled
+                    ).add()
                     .build();
 
     public int getInitialLivesMin() { return initialLivesMin; }
@@ -129,4 +189,14 @@ public class LivesConfig {
     public boolean isShowLivesHud() { return showLivesHud; }
     public String getHudIconPath() { return hudIconPath; }
     public Boolean getUpdateCheck() { return updateCheck; }
+    public int getSaveIntervalMs() { return saveIntervalMs; }
+    public int getCacheIdleMinutes() { return cacheIdleMinutes; }
+    public int getCacheMaxSize() { return cacheMaxSize; }
+    public String getStorageType() { return storageType; }
+    public String getSqlUrl() { return sqlUrl; }
+    public String getDurabilityMode() { return durabilityMode; }
+    public int getDeathDigestWindowMs() { return deathDigestWindowMs; }
+    public int getDeathDigestThreshold() { return deathDigestThreshold; }
+    public String getDeathDigestFormat() { return deathDigestFormat; }
+    public boolean isEventLogEnabled() { return eventLogEnabled; }
 }
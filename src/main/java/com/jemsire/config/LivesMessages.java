@@ -0,0 +1,52 @@
+package com.jemsire.config;
+
+import com.jemsire.utils.MessageTemplate;
+
+/**
+ * The message templates from {@link LivesConfig}, compiled once per load or reload.
+ * Placeholders: {player}, {playerName}, {deathCause}, {rawDeathCause}, {lives} and {time}.
+ * Arguments that don't apply to a message are passed as null and their placeholder is left as written.
+ */
+public class LivesMessages {
+    private static final String[] PARAMETERS = {"player", "playerName", "deathCause", "rawDeathCause", "lives", "time"};
+    private static final String[] DIGEST_PARAMETERS = {"players", "count"};
+
+    private final MessageTemplate deathAnnouncement;
+    private final MessageTemplate localDeath;
+    private final MessageTemplate kick;
+    private final MessageTemplate livesCommand;
+    private final MessageTemplate deathDigest;
+
+    public LivesMessages(LivesConfig config) {
+        this.deathAnnouncement = MessageTemplate.compile(config.getDeathAnnouncementFormat(), PARAMETERS);
+        this.localDeath = MessageTemplate.compile(config.getLocalDeathMessage(), PARAMETERS);
+        this.kick = MessageTemplate.compile(config.getKickMessage(), PARAMETERS);
+        this.livesCommand = MessageTemplate.compile(config.getLivesCommandMessage(), PARAMETERS);
+        this.deathDigest = MessageTemplate.compile(config.getDeathDigestFormat(), DIGEST_PARAMETERS);
+    }
+
+    public String deathAnnouncement(String player, String deathCause, String rawDeathCause, int lives) {
+        return deathAnnouncement.render(player, player, deathCause, rawDeathCause, lives, null);
+    }
+
+    public String localDeath(String player, String deathCause, String rawDeathCause, int lives) {
+        return localDeath.render(player, player, deathCause, rawDeathCause, lives, null);
+    }
+
+    public String kick(String player, String deathCause, String rawDeathCause, int lives, String time) {
+        return kick.render(player, player, deathCause, rawDeathCause, lives, time);
+    }
+
+    public String kick(String player, int lives, String time) {
+        return kick(player, null, null, lives, time);
+    }
+
+    public String livesCommand(String player, int lives) {
+        return livesCommand.render(player, player, null, null, lives, null);
+    }
+
+    /** Placeholders: {players} (e.g. "A, B and 28 others") and {count}. */
+    public String deathDigest(String players, int count) {
+        return deathDigest.render(players, count);
+    }
+}
@@ -22,6 +22,14 @@ public class PlayerData {
         this.lastDeathTime = 0;
     }
 
+    /** Returns a detached copy, used to update cached data without mutating a shared instance. */
+    public PlayerData copy() {
+        PlayerData copy = new PlayerData();
+        copy.lives = this.lives;
+        copy.lastDeathTime = this.lastDeathTime;
+        return copy;
+    }
+
     public int getLives() {
         return lives;
     }
@@ -0,0 +1,35 @@
+package com.jemsire.events;
+
+import java.util.UUID;
+
+/**
+ * Published by LivesManager whenever a player's lives count changes.
+ * Listeners render from the payload instead of reading lives back; they may be called from any
+ * thread (world, regen or I/O) and must not block. Events are delivered one at a time, in the
+ * order the changes were made, so the last event for a player always carries their current lives.
+ *
+ * @param player The player whose lives changed
+ * @param oldLives Lives before the change
+ * @param newLives Lives after the change
+ * @param cause What changed them
+ */
+public record LivesChangedEvent(UUID player, int oldLives, int newLives, Cause cause) {
+
+    public enum Cause {
+        /** Starting lives assigned on first use. */
+        INITIAL,
+        /** A life lost on death. */
+        DEATH,
+        /** Lives restored once the regen time passed. */
+        REGEN,
+        /** A life added, e.g. by a command. */
+        ADD,
+        /** Lives set directly, e.g. when queued for a kick. */
+        SET
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onLivesChanged(LivesChangedEvent event);
+    }
+}
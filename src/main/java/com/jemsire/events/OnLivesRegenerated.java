@@ -0,0 +1,35 @@
+package com.jemsire.events;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.jemsire.plugin.JemLives;
+import com.jemsire.utils.ChatBroadcaster;
+import com.jemsire.utils.Logger;
+
+import java.util.UUID;
+
+/**
+ * Tells a player their lives regenerated once their regen time is up (a LivesManager listener).
+ */
+public class OnLivesRegenerated {
+
+    public static void onLivesChanged(LivesChangedEvent event) {
+        if (event.cause() != LivesChangedEvent.Cause.REGEN) return;
+
+        JemLives plugin = JemLives.get();
+        if (plugin == null) return;
+
+        Universe universe = Universe.get();
+        if (universe == null) return;
+
+        UUID uuid = event.player();
+        for (PlayerRef playerRef : universe.getPlayers()) {
+            if (!uuid.equals(playerRef.getUuid())) continue;
+
+            Logger.debug("Notifying {} that their lives regenerated.", playerRef.getUsername());
+            String message = plugin.getLivesMessages().livesCommand(playerRef.getUsername(), event.newLives());
+            ChatBroadcaster.sendToPlayer(playerRef, message);
+            return;
+        }
+    }
+}
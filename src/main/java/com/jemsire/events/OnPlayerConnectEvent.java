@@ -2,9 +2,11 @@ package com.jemsire.events;
 
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.jemsire.config.LivesConfig;
 import com.jemsire.plugin.JemLives;
 import com.jemsire.utils.LivesManager;
 import com.jemsire.utils.Logger;
+import com.jemsire.utils.TimeUtils;
 
 import java.util.UUID;
 
@@ -17,7 +19,7 @@ public class OnPlayerConnectEvent {
         PlayerRef playerRef = event.getPlayerRef();
         if (playerRef == null) return;
 
-        Logger.debug("Player " + playerRef.getUsername() + " connecting (UUID: " + playerRef.getUuid() + ")");
+        Logger.debug("Player {} connecting (UUID: {})", playerRef.getUsername(), playerRef.getUuid());
 
         JemLives plugin = JemLives.get();
         if (plugin == null) return;
@@ -26,11 +28,40 @@ public class OnPlayerConnectEvent {
         
         if (livesManager != null) {
             UUID playerUuid = playerRef.getUuid();
-            
-            // This will create the player config file if it doesn't exist
-            // and trigger regeneration if time has passed.
-            livesManager.getLives(playerUuid);
+
+            // Refuse locked-out players before they enter a world; this only reads the lockout index.
+            LivesConfig livesConfig = plugin.getLivesConfig().get();
+            if (livesConfig != null && "KICK".equalsIgnoreCase(livesConfig.getZeroLivesAction())) {
+                long remainingSeconds = livesManager.getLockoutRemaining(playerUuid);
+                if (remainingSeconds > 0) {
+                    String kickMsg = plugin.getLivesMessages().kick(playerRef.getUsername(), 0, TimeUtils.formatTime(remainingSeconds));
+
+                    Logger.info("Refusing connection from " + playerRef.getUsername() + " due to 0 lives.");
+                    try {
+                        playerRef.getPacketHandler().disconnect(kickMsg);
+                        Logger.event("kick", playerUuid, "remainingSeconds", remainingSeconds);
+                    } catch (Exception e) {
+                        Logger.debug("Skipping kick for {}: {}", playerUuid, e.getMessage());
+                    }
+                    return;
+                }
+            }
+
+            livesManager.markOnline(playerUuid);
+
+            // Load the player's data off the event thread. This creates their data if it
+            // doesn't exist and triggers regeneration if time has passed; the ready handler
+            // reads the cached result or waits for this load to finish.
+            livesManager.prefetch(playerUuid).exceptionally(e -> {
+                // Letting them in would mean playing on lives we can't save; they can retry later.
+                Logger.severe("Refusing " + playerRef.getUsername() + ": their lives could not be loaded", e);
+                try {
+                    playerRef.getPacketHandler().disconnect("Your lives could not be loaded. Please try again later.");
+                } catch (Exception disconnectError) {
+                    Logger.debug("Skipping disconnect for {}: {}", playerUuid, disconnectError.getMessage());
+                }
+                return 0;
+            });
         }
     }
-
 }
@@ -10,15 +10,15 @@ import com.hypixel.hytale.server.core.modules.entity.damage.DeathSystems;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.jemsire.config.LivesConfig;
+import com.jemsire.config.LivesMessages;
 import com.jemsire.plugin.JemLives;
 import com.jemsire.utils.ChatBroadcaster;
 import com.jemsire.utils.LivesManager;
 import com.jemsire.utils.Logger;
-import com.jemsire.utils.PlaceholderReplacer;
+import com.jemsire.utils.TimeUtils;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 public class OnPlayerDeathEvent extends DeathSystems.OnDeathSystem {
@@ -35,7 +35,7 @@ public class OnPlayerDeathEvent extends DeathSystems.OnDeathSystem {
             String playerName = playerComponent.getDisplayName();
             UUID playerUuid = playerRef.getUuid();
 
-            Logger.debug("Handling death for player: " + playerName + " (" + playerUuid + ")");
+            Logger.debug("Handling death for player: {} ({})", playerName, playerUuid);
 
             JemLives plugin = JemLives.get();
             if (plugin == null) {
@@ -44,7 +44,7 @@ public class OnPlayerDeathEvent extends DeathSystems.OnDeathSystem {
             
             LivesConfig livesConfig = plugin.getLivesConfig().get();
             LivesManager livesManager = plugin.getLivesManager();
-            if (livesConfig == null || livesManager == null) {
+            if (livesConfig == null || livesManager == null || !livesManager.isStarted()) {
                 return;
             }
             
@@ -53,46 +53,35 @@ public class OnPlayerDeathEvent extends DeathSystems.OnDeathSystem {
             boolean shouldLoseLife = !livesConfig.isLoseLivesFromPvpOnly(); 
             
             if (shouldLoseLife) {
-                livesManager.removeLife(playerUuid);
+                try {
+                    livesManager.removeLife(playerUuid);
+                } catch (UncheckedIOException e) {
+                    Logger.severe("Could not record the death of " + playerName + "; their lives were not changed", e);
+                    return;
+                }
             }
 
             int currentLives = livesManager.getLives(playerUuid);
+            Logger.event("death", playerUuid, "lives", currentLives);
             
             String rawDeathCause = deathComponent.getDeathMessage().getAnsiMessage();
             String deathCause = rawDeathCause.replace("You were", livesConfig.getDeathCauseReplacement());
             
-            // Prepare placeholders for replacement
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("player", playerName);
-            placeholders.put("playerName", playerName);
-            placeholders.put("deathCause", deathCause);
-            placeholders.put("rawDeathCause", rawDeathCause);
-            placeholders.put("lives", String.valueOf(currentLives));
-            
+            LivesMessages messages = plugin.getLivesMessages();
+
             // Global death message
-            String deathAnnouncement = PlaceholderReplacer.replacePlaceholders(
-                livesConfig.getDeathAnnouncementFormat(), 
-                placeholders
-            );
-            ChatBroadcaster.broadcastToAll(deathAnnouncement);
+            String deathAnnouncement = messages.deathAnnouncement(playerName, deathCause, rawDeathCause, currentLives);
+            plugin.getDeathAnnouncer().announce(playerName, deathAnnouncement);
             
             // Local death message
-            String localMessage = PlaceholderReplacer.replacePlaceholders(
-                livesConfig.getLocalDeathMessage(),
-                placeholders
-            );
+            String localMessage = messages.localDeath(playerName, deathCause, rawDeathCause, currentLives);
             ChatBroadcaster.sendToPlayer(playerRef, localMessage);
 
-            // Update lives HUD
-            plugin.updateLivesHud(playerUuid, currentLives);
-
             // Action if 0 lives
             if (currentLives <= 0) {
                 long remainingSeconds = livesManager.getRemainingRegenTime(playerUuid);
-                String timeString = formatTime(remainingSeconds);
-                
-                placeholders.put("time", timeString);
-                String kickMsg = PlaceholderReplacer.replacePlaceholders(livesConfig.getKickMessage(), placeholders);
+                String timeString = TimeUtils.formatTime(remainingSeconds);
+                String kickMsg = messages.kick(playerName, deathCause, rawDeathCause, currentLives, timeString);
                 
                 if ("KICK".equalsIgnoreCase(livesConfig.getZeroLivesAction())) {
                     plugin.getKickManager().queueKick(playerRef, kickMsg);
@@ -102,16 +91,4 @@ public class OnPlayerDeathEvent extends DeathSystems.OnDeathSystem {
             }
         }
     }
-
-    private String formatTime(long seconds) {
-        long hours = seconds / 3600;
-        long minutes = (seconds % 3600) / 60;
-        long secs = seconds % 60;
-        
-        StringBuilder sb = new StringBuilder();
-        if (hours > 0) sb.append(hours).append("h ");
-        if (minutes > 0) sb.append(minutes).append("m ");
-        sb.append(secs).append("s");
-        return sb.toString();
-    }
 }
@@ -13,9 +13,14 @@ public class OnPlayerLeaveEvent {
         JemLives plugin = JemLives.get();
         if (plugin == null) return;
 
-        Logger.debug("Player " + event.getPlayerRef().getUuid() + " disconnecting, cleaning up lives HUD.");
+        Logger.debug("Player {} disconnecting, cleaning up lives HUD.", event.getPlayerRef().getUuid());
         // We don't have Ref<EntityStore> here easily, but we have UUID.
         // Let's modify LivesHudManager to allow removal by UUID or just clean up the map.
         plugin.getLivesHudManager().removeByUuid(event.getPlayerRef().getUuid());
+
+        // Let the player's lives data age out of the cache now that they are offline.
+        if (plugin.getLivesManager() != null) {
+            plugin.getLivesManager().markOffline(event.getPlayerRef().getUuid());
+        }
     }
 }
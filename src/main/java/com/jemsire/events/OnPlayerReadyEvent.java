@@ -9,10 +9,9 @@ import com.jemsire.plugin.JemLives;
 import com.jemsire.utils.ChatBroadcaster;
 import com.jemsire.utils.LivesManager;
 import com.jemsire.utils.Logger;
-import com.jemsire.utils.PlaceholderReplacer;
+import com.jemsire.utils.TimeUtils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 /**
@@ -29,22 +28,25 @@ public class OnPlayerReadyEvent {
         PlayerRef playerRef = ref.getStore().getComponent(ref, PlayerRef.getComponentType());
         if (playerRef == null) return;
 
-        Logger.debug("Player " + playerRef.getUsername() + " is ready.");
+        Logger.debug("Player {} is ready.", playerRef.getUsername());
 
         LivesManager livesManager = plugin.getLivesManager();
         LivesConfig livesConfig = plugin.getLivesConfig().get();
 
         if (livesManager != null && livesConfig != null) {
             UUID playerUuid = playerRef.getUuid();
-            int currentLives = livesManager.getLives(playerUuid);
+            int currentLives;
+            try {
+                currentLives = livesManager.getLives(playerUuid);
+            } catch (UncheckedIOException e) {
+                // The connect handler refuses them too; this covers a load that failed after it.
+                playerRef.getPacketHandler().disconnect("Your lives could not be loaded. Please try again later.");
+                return;
+            }
 
             // Notify player about their lives when they are fully ready in the world
             if (currentLives > 0) {
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("lives", String.valueOf(currentLives));
-                placeholders.put("player", playerRef.getUsername());
-
-                String joinMessage = PlaceholderReplacer.replacePlaceholders(livesConfig.getLivesCommandMessage(), placeholders);
+                String joinMessage = plugin.getLivesMessages().livesCommand(playerRef.getUsername(), currentLives);
                 ChatBroadcaster.sendToPlayer(playerRef, joinMessage);
             }
 
@@ -57,12 +59,7 @@ public class OnPlayerReadyEvent {
             if (currentLives <= 0) {
                 long remainingSeconds = livesManager.getRemainingRegenTime(playerUuid);
                 if (remainingSeconds > 0) {
-                    Map<String, String> placeholders = new HashMap<>();
-                    placeholders.put("lives", String.valueOf(currentLives));
-                    placeholders.put("player", playerRef.getUsername());
-                    placeholders.put("time", formatTime(remainingSeconds));
-
-                    String kickMsg = PlaceholderReplacer.replacePlaceholders(livesConfig.getKickMessage(), placeholders);
+                    String kickMsg = plugin.getLivesMessages().kick(playerRef.getUsername(), currentLives, TimeUtils.formatTime(remainingSeconds));
 
                     if ("KICK".equalsIgnoreCase(livesConfig.getZeroLivesAction())) {
                         Logger.info("Queuing kick for player " + playerRef.getUsername() + " due to 0 lives.");
@@ -72,16 +69,4 @@ public class OnPlayerReadyEvent {
             }
         }
     }
-
-    private static String formatTime(long seconds) {
-        long hours = seconds / 3600;
-        long minutes = (seconds % 3600) / 60;
-        long secs = seconds % 60;
-
-        StringBuilder sb = new StringBuilder();
-        if (hours > 0) sb.append(hours).append("h ");
-        if (minutes > 0) sb.append(minutes).append("m ");
-        sb.append(secs).append("s");
-        return sb.toString();
-    }
 }
@@ -1,5 +1,6 @@
 package com.jemsire.expansion;
 
+import com.jemsire.config.LivesConfig;
 import com.jemsire.jemplaceholders.api.PlaceholderExpansion;
 import com.jemsire.plugin.JemLives;
 import com.jemsire.utils.LivesManager;
@@ -29,13 +30,51 @@ public class JemLivesExpansion extends PlaceholderExpansion {
 
     @Override public String getWebsite() { return "https://www.curseforge.com/members/jemsire/projects"; }
 
+    /** The configured max lives and its text, rebuilt only when the config value changes. */
+    private record MaxLives(int value, String text) {}
+
+    private volatile MaxLives maxLives = new MaxLives(0, "0");
+
+    /**
+     * Placeholders are read from LivesManager's snapshots, so scoreboards refreshing them for
+     * every viewer never load, initialize, regenerate or save a player. Players who are not
+     * loaded are answered from the lockout index.
+     */
     public JemLivesExpansion() {
 
-        exact("lives", (player, params) -> {
-            JemLives plugin = JemLives.get();
-            LivesManager livesManager = plugin.getLivesManager();
-            int lives = livesManager.getLives(player.getUuid());
-            return "" + lives;
+        exact("lives", (player, params) -> getLivesManager().getSnapshot(player.getUuid()).getLivesText());
+
+        exact("regen_remaining", (player, params) ->
+                getLivesManager().getSnapshot(player.getUuid()).getRegenRemainingText(nowSeconds(), getRegenTimeSeconds()));
+
+        exact("locked_out", (player, params) ->
+                getLivesManager().getSnapshot(player.getUuid()).isLockedOut(nowSeconds(), getRegenTimeSeconds()) ? "true" : "false");
+
+        exact("max_lives", (player, params) -> {
+            int value = getConfig().getInitialLivesMax();
+            MaxLives cached = maxLives;
+            if (cached.value() != value) {
+                cached = new MaxLives(value, Integer.toString(value));
+                maxLives = cached;
+            }
+            return cached.text();
         });
     }
+
+    private static LivesManager getLivesManager() {
+        return JemLives.get().getLivesManager();
+    }
+
+    private static LivesConfig getConfig() {
+        return JemLives.get().getLivesConfig().get();
+    }
+
+    /** Epoch seconds without allocating an Instant. */
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static long getRegenTimeSeconds() {
+        return getConfig().getRegenTimeMinutes() * 60L;
+    }
 }
@@ -12,15 +12,19 @@ import com.hypixel.hytale.server.core.util.Config;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.jemsire.commands.LivesCommand;
 import com.jemsire.config.LivesConfig;
+import com.jemsire.config.LivesMessages;
+import com.jemsire.events.OnLivesRegenerated;
 import com.jemsire.events.OnPlayerConnectEvent;
 import com.jemsire.events.OnPlayerDeathEvent;
 import com.jemsire.events.OnPlayerLeaveEvent;
 import com.jemsire.events.OnPlayerReadyEvent;
 import com.jemsire.expansion.JemLivesExpansion;
 import com.jemsire.jemplaceholders.api.JemPlaceholdersAPI;
+import com.jemsire.ui.LivesHud;
 import com.jemsire.utils.*;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.util.UUID;
 
 public class JemLives extends JavaPlugin {
@@ -36,6 +40,8 @@ public class JemLives extends JavaPlugin {
     private final LivesManager livesManager;
     private final LivesHudManager livesHudManager;
     private final KickManager kickManager;
+    private final DeathAnnouncer deathAnnouncer;
+    private volatile LivesMessages livesMessages;
 
     public JemLives(@Nonnull JavaPluginInit init) {
         super(init);
@@ -48,6 +54,7 @@ public class JemLives extends JavaPlugin {
         this.livesManager = new LivesManager();
         this.livesHudManager = new LivesHudManager(this.livesConfig);
         this.kickManager = new KickManager();
+        this.deathAnnouncer = new DeathAnnouncer();
     }
 
     @Override
@@ -66,6 +73,20 @@ public class JemLives extends JavaPlugin {
 
     @Override
     protected void start() {
+        Logger.refreshLevel();
+        livesMessages = new LivesMessages(livesConfig.get());
+        livesManager.addListener(livesHudManager::onLivesChanged);
+        livesManager.addListener(OnLivesRegenerated::onLivesChanged);
+        try {
+            livesManager.start();
+        } catch (IOException e) {
+            // Running on any other storage would serve stale lives, so stop here instead.
+            Logger.severe("Could not open " + livesConfig.get().getStorageType() + " player storage. JemLives is disabled until this is fixed", e);
+            this.getCommandRegistry().shutdown();
+            this.getEventRegistry().shutdown();
+            throw new IllegalStateException("JemLives could not open its player storage", e);
+        }
+
         if (isJemPlaceholdersEnabled()) {
             JemPlaceholdersAPI.registerExpansion(new JemLivesExpansion());
         }
@@ -82,17 +103,28 @@ public class JemLives extends JavaPlugin {
     protected void shutdown(){
         Logger.info("Shutting down...");
 
+        // Stop taking deaths and commands first so nothing changes lives after the final save.
+        this.getCommandRegistry().shutdown();
+        this.getEventRegistry().shutdown();
+
         if (this.kickManager != null) {
             this.kickManager.stop();
         }
 
-        this.getCommandRegistry().shutdown();
-        this.getEventRegistry().shutdown();
+        if (this.deathAnnouncer != null) {
+            this.deathAnnouncer.stop();
+        }
+
+        if (this.livesManager != null) {
+            this.livesManager.shutdown();
+            Logger.info("Player Data Saved.");
+        }
 
         livesConfig.save();
         Logger.info("Config Saved.");
 
         Logger.info("Shutdown Complete");
+        Logger.shutdown();
     }
 
     private void registerCommands() {
@@ -111,10 +143,25 @@ public class JemLives extends JavaPlugin {
         Logger.debug("Debug logging is enabled.");
     }
     
+    /** Reloads LivesConfig from disk and refreshes everything derived from it. */
+    public void reloadConfig() {
+        livesConfig.load();
+        Logger.refreshLevel();
+        livesMessages = new LivesMessages(livesConfig.get());
+        MessageCache.clear();
+        LivesHud.invalidateMarkup();
+        livesManager.rescheduleRegen();
+    }
+
     public Config<LivesConfig> getLivesConfig() {
         return this.livesConfig;
     }
 
+    /** The configured messages, compiled; replaced on reload. */
+    public LivesMessages getLivesMessages() {
+        return this.livesMessages;
+    }
+
     public LivesManager getLivesManager() {
         return this.livesManager;
     }
@@ -127,6 +174,10 @@ public class JemLives extends JavaPlugin {
         return this.kickManager;
     }
 
+    public DeathAnnouncer getDeathAnnouncer() {
+        return this.deathAnnouncer;
+    }
+
     /** Show the lives HUD to a player. */
     public void showLivesHud(Ref<EntityStore> ref, Store<EntityStore> store, int lives) {
         livesHudManager.show(ref, store, lives);
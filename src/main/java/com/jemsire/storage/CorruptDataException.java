@@ -0,0 +1,14 @@
+package com.jemsire.storage;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a {@link PlayerDataStore} when a player's stored data exists but can't be read.
+ * Unlike other I/O errors this is permanent, so loads are not retried: the player is refused
+ * until the data is repaired.
+ */
+public class CorruptDataException extends IOException {
+    public CorruptDataException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
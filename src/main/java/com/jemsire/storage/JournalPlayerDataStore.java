@@ -0,0 +1,302 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.PlayerData;
+import com.jemsire.utils.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal storage.
+ * Every saved change is appended as a fixed-size record to the current journal segment. Once
+ * enough segments have piled up, the full state is compacted into a single snapshot and the old
+ * segments are deleted. On startup the snapshot is read and any newer segments are replayed.
+ * <p>
+ * Layout under {@code journal/}:
+ * <ul>
+ *   <li>{@code snapshot.dat} - header (magic, version, first segment not included, count) followed by records</li>
+ *   <li>{@code segment-<n>.log} - records appended since the snapshot, each followed by a CRC32</li>
+ * </ul>
+ */
+public class JournalPlayerDataStore implements PlayerDataStore {
+    private static final int SNAPSHOT_MAGIC = 0x4A4C5350; // "JLSP"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /** UUID (16) + lives (4) + lastDeathTime (8). */
+    private static final int RECORD_BYTES = 28;
+    /** Journal records carry a trailing CRC32 so a torn final write can be detected on replay. */
+    private static final int JOURNAL_RECORD_BYTES = RECORD_BYTES + 4;
+
+    private static final long SEGMENT_MAX_BYTES = 4L * 1024 * 1024;
+    private static final int COMPACT_AFTER_SEGMENTS = 4;
+
+    private final File directory;
+    private final File snapshotFile;
+    private final boolean sync;
+    private final Map<UUID, PlayerData> state = new ConcurrentHashMap<>();
+
+    private long segmentIndex;
+    private long firstSegmentIndex;
+    private FileChannel segment;
+
+    public JournalPlayerDataStore(File directory) throws IOException {
+        this(directory, false);
+    }
+
+    /**
+     * @param sync force each appended batch to disk before it counts as saved (group commit)
+     */
+    public JournalPlayerDataStore(File directory, boolean sync) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        this.snapshotFile = new File(directory, "snapshot.dat");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+
+        this.firstSegmentIndex = readSnapshot();
+        this.segmentIndex = replaySegments(firstSegmentIndex);
+        openSegment(segmentIndex);
+        Logger.info("Loaded " + state.size() + " players from the lives journal.");
+    }
+
+    @Override
+    public PlayerData load(UUID uuid) {
+        PlayerData data = state.get(uuid);
+        return data != null ? data.copy() : null;
+    }
+
+    @Override
+    public Map<UUID, PlayerData> loadAll() {
+        Map<UUID, PlayerData> result = new HashMap<>(state.size());
+        state.forEach((uuid, data) -> result.put(uuid, data.copy()));
+        return result;
+    }
+
+    /** Scans the in-memory state; nothing is read or copied. */
+    @Override
+    public Map<UUID, Long> loadLockouts(long diedAfter) {
+        Map<UUID, Long> result = new HashMap<>();
+        state.forEach((uuid, data) -> {
+            if (PlayerDataStore.isLockedOut(data, diedAfter)) {
+                result.put(uuid, data.getLastDeathTime());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public synchronized void saveAll(Map<UUID, PlayerData> batch) throws IOException {
+        if (batch.isEmpty()) return;
+
+        ByteBuffer buffer = ByteBuffer.allocate(batch.size() * JOURNAL_RECORD_BYTES);
+        CRC32 crc = new CRC32();
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            int start = buffer.position();
+            writeRecord(buffer, entry.getKey(), entry.getValue());
+            crc.reset();
+            crc.update(buffer.array(), start, RECORD_BYTES);
+            buffer.putInt((int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        if (sync) {
+            // One fsync covers every change in the batch.
+            segment.force(false);
+        }
+
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            state.put(entry.getKey(), entry.getValue().copy());
+        }
+
+        if (segment.size() >= SEGMENT_MAX_BYTES) {
+            rollSegment();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        segment.force(false);
+        segment.close();
+        segmentIndex++;
+        openSegment(segmentIndex);
+        if (sync) {
+            // The new segment's directory entry must survive a crash along with its first records.
+            syncDirectory();
+        }
+
+        if (segmentIndex - firstSegmentIndex >= COMPACT_AFTER_SEGMENTS) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes the current state to a new snapshot covering every segment before the current one,
+     * then deletes those segments. The snapshot is synced, renamed into place and the rename made
+     * durable before anything is deleted, so a crash at any point leaves a replayable journal.
+     */
+    private void compact() throws IOException {
+        long start = System.currentTimeMillis();
+        File tmp = new File(directory, "snapshot.dat.tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(segmentIndex);
+            List<Map.Entry<UUID, PlayerData>> entries = new ArrayList<>(state.entrySet());
+            out.writeInt(entries.size());
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            for (Map.Entry<UUID, PlayerData> entry : entries) {
+                record.clear();
+                writeRecord(record, entry.getKey(), entry.getValue());
+                out.write(record.array());
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move(tmp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Until the rename is on disk a crash could bring back the old snapshot; the segments it needs must still exist.
+        syncDirectory();
+
+        for (long i = firstSegmentIndex; i < segmentIndex; i++) {
+            Files.deleteIfExists(segmentFile(i).toPath());
+        }
+        firstSegmentIndex = segmentIndex;
+        Logger.debug(() -> "Compacted lives journal into a snapshot of " + state.size() + " players in " + (System.currentTimeMillis() - start) + "ms.");
+    }
+
+    /** Makes renames, creations and deletions in the journal folder durable. Skipped where unsupported. */
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            Logger.debug("Could not sync journal folder: {}", e.getMessage());
+        }
+    }
+
+    /** @return the index of the first segment not covered by the snapshot */
+    private long readSnapshot() throws IOException {
+        if (!snapshotFile.exists()) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognised lives snapshot format: " + snapshotFile);
+            }
+            long nextSegment = in.readLong();
+            int count = in.readInt();
+            byte[] bytes = new byte[RECORD_BYTES];
+            ByteBuffer record = ByteBuffer.wrap(bytes);
+            for (int i = 0; i < count; i++) {
+                in.readFully(bytes);
+                record.clear();
+                readRecord(record);
+            }
+            return nextSegment;
+        }
+    }
+
+    /** Replays every segment from {@code first} on and returns the index to continue appending to. */
+    private long replaySegments(long first) throws IOException {
+        long index = first;
+        while (segmentFile(index + 1).exists()) {
+            replaySegment(segmentFile(index));
+            index++;
+        }
+        if (segmentFile(index).exists()) {
+            replaySegment(segmentFile(index));
+        }
+        return index;
+    }
+
+    private void replaySegment(File file) throws IOException {
+        long validBytes = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer record = ByteBuffer.allocate(JOURNAL_RECORD_BYTES);
+            CRC32 crc = new CRC32();
+            while (true) {
+                record.clear();
+                if (!readFully(channel, record)) break;
+
+                crc.reset();
+                crc.update(record.array(), 0, RECORD_BYTES);
+                if ((int) crc.getValue() != record.getInt(RECORD_BYTES)) break;
+
+                record.flip();
+                readRecord(record);
+                validBytes += JOURNAL_RECORD_BYTES;
+            }
+
+            if (validBytes < channel.size()) {
+                Logger.warning("Discarding " + (channel.size() - validBytes) + " bytes of incomplete journal data in " + file.getName());
+                channel.truncate(validBytes);
+            }
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void openSegment(long index) throws IOException {
+        segment = FileChannel.open(segmentFile(index).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private File segmentFile(long index) {
+        return new File(directory, String.format("segment-%08d.log", index));
+    }
+
+    private static void writeRecord(ByteBuffer buffer, UUID uuid, PlayerData data) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        buffer.putInt(data.getLives());
+        buffer.putLong(data.getLastDeathTime());
+    }
+
+    private void readRecord(ByteBuffer buffer) throws EOFException {
+        if (buffer.remaining() < RECORD_BYTES) {
+            throw new EOFException("Truncated lives record");
+        }
+        UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+        PlayerData data = new PlayerData();
+        data.setLives(buffer.getInt());
+        data.setLastDeathTime(buffer.getLong());
+        state.put(uuid, data);
+    }
+}
@@ -0,0 +1,277 @@
+package com.jemsire.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.jemsire.config.PlayerData;
+import com.jemsire.utils.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores each player in its own pretty-printed file at {@code players/<uuid>.json}.
+ * <p>
+ * {@code players/lockouts.idx} lists every player that may be locked out (one
+ * {@code <uuid> <lastDeathTime>} line each), so the lockout index can be built at startup without
+ * parsing every player file. Candidates are added before their player files are written and
+ * removed after, so after a crash the list can only hold too many players, never too few; each
+ * candidate's own file is read to confirm it.
+ */
+public class JsonPlayerDataStore implements PlayerDataStore {
+    private static final String LOCKOUT_INDEX = "lockouts.idx";
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final File playersFolder;
+    private final boolean sync;
+    private final Map<UUID, Long> lockoutCandidates = new HashMap<>();
+
+    public JsonPlayerDataStore(File playersFolder) {
+        this(playersFolder, false);
+    }
+
+    public JsonPlayerDataStore(File playersFolder, boolean sync) {
+        this.playersFolder = playersFolder;
+        this.sync = sync;
+        if (!this.playersFolder.exists()) {
+            this.playersFolder.mkdirs();
+        }
+        loadLockoutIndex();
+    }
+
+    @Override
+    public PlayerData load(UUID uuid) throws IOException {
+        File playerFile = new File(playersFolder, uuid.toString() + ".json");
+        if (!playerFile.exists()) {
+            return null;
+        }
+
+        try (FileReader reader = new FileReader(playerFile, StandardCharsets.UTF_8)) {
+            PlayerData data = gson.fromJson(reader, PlayerData.class);
+            if (data == null) {
+                throw new JsonParseException("file is empty");
+            }
+            return data;
+        } catch (JsonParseException e) {
+            // The file stays where it is so the player keeps failing to load (and is refused)
+            // until it is repaired, rather than being treated as new. A copy is kept for
+            // inspection; the first one is kept, so repeated joins don't copy it again.
+            Path corrupt = playersFolder.toPath().resolve(playerFile.getName() + ".corrupt");
+            try {
+                Files.copy(playerFile.toPath(), corrupt);
+            } catch (FileAlreadyExistsException alreadyCopied) {
+                // Copied on an earlier load.
+            } catch (IOException copyError) {
+                e.addSuppressed(copyError);
+            }
+            throw new CorruptDataException("Player file " + playerFile.getName() + " is corrupt; a copy is at " + corrupt.getFileName(), e);
+        }
+    }
+
+    @Override
+    public Map<UUID, PlayerData> loadAll() throws IOException {
+        Map<UUID, PlayerData> result = new HashMap<>();
+        File[] files = playersFolder.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            return result;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+                PlayerData data = gson.fromJson(reader, PlayerData.class);
+                if (data != null) {
+                    result.put(uuid, data);
+                }
+            } catch (RuntimeException e) {
+                Logger.warning("Skipping unreadable player file " + name + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads only the candidates listed in the lockout index. Candidates whose regen time has
+     * passed, or whose file shows they are no longer locked out, are dropped from the index.
+     */
+    @Override
+    public Map<UUID, Long> loadLockouts(long diedAfter) throws IOException {
+        Map<UUID, Long> candidates;
+        synchronized (lockoutCandidates) {
+            candidates = new HashMap<>(lockoutCandidates);
+        }
+
+        Map<UUID, Long> result = new HashMap<>();
+        Map<UUID, Long> stale = new HashMap<>();
+        for (Map.Entry<UUID, Long> candidate : candidates.entrySet()) {
+            if (candidate.getValue() <= diedAfter) {
+                stale.put(candidate.getKey(), candidate.getValue());
+                continue;
+            }
+            try {
+                PlayerData data = load(candidate.getKey());
+                if (data != null && PlayerDataStore.isLockedOut(data, diedAfter)) {
+                    result.put(candidate.getKey(), data.getLastDeathTime());
+                } else {
+                    stale.put(candidate.getKey(), candidate.getValue());
+                }
+            } catch (IOException e) {
+                Logger.warning("Skipping lockout check for " + candidate.getKey() + ": " + e.getMessage());
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            synchronized (lockoutCandidates) {
+                // Only drop entries nobody has saved over since they were read.
+                stale.forEach(lockoutCandidates::remove);
+                writeLockoutIndex();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes each player to a temporary file and renames it over the old one, so a crash never
+     * leaves a truncated file behind. With sync enabled, every temporary file and then the
+     * directory are forced to disk once per batch before the batch counts as saved.
+     */
+    @Override
+    public void saveAll(Map<UUID, PlayerData> batch) throws IOException {
+        // New candidates are recorded before the files that lock them out exist.
+        updateLockoutIndex(batch, true);
+
+        IOException failure = null;
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            String name = entry.getKey().toString() + ".json";
+            Path target = playersFolder.toPath().resolve(name);
+            Path tmp = playersFolder.toPath().resolve(name + ".tmp");
+            try {
+                try (FileOutputStream out = new FileOutputStream(tmp.toFile());
+                     Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                    gson.toJson(entry.getValue(), writer);
+                    writer.flush();
+                    if (sync) {
+                        out.getFD().sync();
+                    }
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Logger.severe("Failed to save player data for " + entry.getKey(), e);
+                failure = e;
+            }
+        }
+        if (sync) {
+            syncDirectory();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        // Candidates are only dropped once the files that clear them have been written.
+        updateLockoutIndex(batch, false);
+    }
+
+    /** Adds (or, once saved, removes) the batch's lockout candidates and rewrites the index if it changed. */
+    private void updateLockoutIndex(Map<UUID, PlayerData> batch, boolean adding) throws IOException {
+        synchronized (lockoutCandidates) {
+            boolean changed = false;
+            for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+                PlayerData data = entry.getValue();
+                boolean candidate = data.getLives() <= 0 && data.getLastDeathTime() > 0;
+                if (adding && candidate) {
+                    Long previous = lockoutCandidates.put(entry.getKey(), data.getLastDeathTime());
+                    changed |= previous == null || previous != data.getLastDeathTime();
+                } else if (!adding && !candidate) {
+                    changed |= lockoutCandidates.remove(entry.getKey()) != null;
+                }
+            }
+            if (changed) {
+                writeLockoutIndex();
+            }
+        }
+    }
+
+    private void loadLockoutIndex() {
+        Path index = playersFolder.toPath().resolve(LOCKOUT_INDEX);
+        try {
+            if (Files.exists(index)) {
+                for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                    String[] parts = line.split(" ");
+                    // A malformed line can only come from outside edits; that player is checked when they join.
+                    if (parts.length == 2) {
+                        lockoutCandidates.put(UUID.fromString(parts[0]), Long.parseLong(parts[1]));
+                    }
+                }
+                return;
+            }
+
+            // First start with the index: find the candidates once by reading every file.
+            long start = System.currentTimeMillis();
+            for (Map.Entry<UUID, PlayerData> entry : loadAll().entrySet()) {
+                PlayerData data = entry.getValue();
+                if (data.getLives() <= 0 && data.getLastDeathTime() > 0) {
+                    lockoutCandidates.put(entry.getKey(), data.getLastDeathTime());
+                }
+            }
+            writeLockoutIndex();
+            Logger.info("Built the lockout index (" + lockoutCandidates.size() + " players) in " + (System.currentTimeMillis() - start) + "ms.");
+        } catch (IOException | RuntimeException e) {
+            Logger.warning("Could not read the lockout index; locked-out players will be kicked once they join instead: " + e.getMessage());
+        }
+    }
+
+    /** Replaces the index file atomically. Callers hold the lockoutCandidates lock. */
+    private void writeLockoutIndex() throws IOException {
+        Path index = playersFolder.toPath().resolve(LOCKOUT_INDEX);
+        Path tmp = playersFolder.toPath().resolve(LOCKOUT_INDEX + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile());
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            for (Map.Entry<UUID, Long> entry : lockoutCandidates.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue() + "\n");
+            }
+            writer.flush();
+            if (sync) {
+                out.getFD().sync();
+            }
+        }
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (sync) {
+            // The index must reach disk before the player files it covers.
+            syncDirectory();
+        }
+    }
+
+    /** Makes the renames durable. Not supported on every platform, in which case it is skipped. */
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(playersFolder.toPath(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            Logger.debug("Could not sync players folder: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        // Every save is written straight to its file; nothing to release.
+    }
+}
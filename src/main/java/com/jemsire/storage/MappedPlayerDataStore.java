@@ -0,0 +1,182 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.PlayerData;
+import com.jemsire.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-width binary player table accessed through a memory-mapped file.
+ * Each player occupies one 32-byte slot, and a UUID to slot index is rebuilt from the file on
+ * startup. Loads and saves are plain memory reads and writes; the OS writes dirty pages back to
+ * disk, and the mapping is forced on close.
+ * <p>
+ * Layout of {@code players.dat}: a 16-byte header (magic, version, slot capacity) followed by
+ * slots of UUID (16) + lives (4) + padding (4) + lastDeathTime (8). A slot whose UUID is all
+ * zeros is unused. New players are appended after the highest used slot; an empty slot below it
+ * (e.g. a page that was never written back before a crash) is skipped rather than ending the table.
+ */
+public class MappedPlayerDataStore implements PlayerDataStore {
+    private static final int MAGIC = 0x4A4C4D54; // "JLMT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int OFFSET_LIVES = 16;
+    private static final int OFFSET_LAST_DEATH = 24;
+
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final boolean sync;
+    private FileChannel channel;
+    private MappedByteBuffer table;
+    private int capacity;
+    /** One past the highest slot in use; new players are appended here. */
+    private int nextSlot;
+
+    public MappedPlayerDataStore(File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * @param sync force dirty pages to disk after each saved batch (group commit)
+     */
+    public MappedPlayerDataStore(File file, boolean sync) throws IOException {
+        this.sync = sync;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            map(INITIAL_CAPACITY);
+            table.putInt(0, MAGIC);
+            table.putInt(4, VERSION);
+            table.putInt(8, capacity);
+        } else {
+            map((int) ((channel.size() - HEADER_BYTES) / SLOT_BYTES));
+            if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+                throw new IOException("Unrecognised player table format: " + file);
+            }
+            buildIndex();
+        }
+        Logger.info("Loaded " + slots.size() + " players from the lives table.");
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) {
+        Integer slot = slots.get(uuid);
+        if (slot == null) {
+            return null;
+        }
+
+        int offset = slotOffset(slot);
+        PlayerData data = new PlayerData();
+        data.setLives(table.getInt(offset + OFFSET_LIVES));
+        data.setLastDeathTime(table.getLong(offset + OFFSET_LAST_DEATH));
+        return data;
+    }
+
+    @Override
+    public synchronized Map<UUID, PlayerData> loadAll() {
+        Map<UUID, PlayerData> result = new HashMap<>(slots.size());
+        for (UUID uuid : slots.keySet()) {
+            result.put(uuid, load(uuid));
+        }
+        return result;
+    }
+
+    /** Reads the two fields straight from each slot; no PlayerData is built for anyone else. */
+    @Override
+    public synchronized Map<UUID, Long> loadLockouts(long diedAfter) {
+        Map<UUID, Long> result = new HashMap<>();
+        for (Map.Entry<UUID, Integer> entry : slots.entrySet()) {
+            int offset = slotOffset(entry.getValue());
+            long lastDeathTime = table.getLong(offset + OFFSET_LAST_DEATH);
+            if (table.getInt(offset + OFFSET_LIVES) <= 0 && lastDeathTime > 0 && lastDeathTime > diedAfter) {
+                result.put(entry.getKey(), lastDeathTime);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void saveAll(Map<UUID, PlayerData> batch) throws IOException {
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            UUID uuid = entry.getKey();
+            Integer slot = slots.get(uuid);
+            if (slot == null) {
+                slot = nextSlot++;
+                if (slot >= capacity) {
+                    map(capacity * 2);
+                }
+                int offset = slotOffset(slot);
+                table.putLong(offset, uuid.getMostSignificantBits());
+                table.putLong(offset + 8, uuid.getLeastSignificantBits());
+                slots.put(uuid, slot);
+            }
+
+            int offset = slotOffset(slot);
+            table.putInt(offset + OFFSET_LIVES, entry.getValue().getLives());
+            table.putLong(offset + OFFSET_LAST_DEATH, entry.getValue().getLastDeathTime());
+        }
+        if (sync) {
+            table.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (table != null) {
+            table.force();
+            table = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Maps the file with room for {@code newCapacity} slots, growing it if needed. */
+    private void map(int newCapacity) throws IOException {
+        if (table != null) {
+            table.force();
+        }
+        this.capacity = Math.max(newCapacity, INITIAL_CAPACITY);
+        this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+        table.putInt(8, capacity);
+    }
+
+    private void buildIndex() {
+        int holes = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slotOffset(slot);
+            long msb = table.getLong(offset);
+            long lsb = table.getLong(offset + 8);
+            if (msb == 0 && lsb == 0) {
+                holes++;
+                continue;
+            }
+            slots.put(new UUID(msb, lsb), slot);
+            nextSlot = slot + 1;
+        }
+        // Slots are filled in order, so empty slots below the last used one were lost in a crash.
+        holes -= capacity - nextSlot;
+        if (holes > 0) {
+            Logger.warning("Skipped " + holes + " empty slots in the lives table; their pages were likely not written back before a crash.");
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+}
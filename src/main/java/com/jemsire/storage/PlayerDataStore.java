@@ -0,0 +1,57 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.PlayerData;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent storage for player lives data, used by LivesManager behind its in-memory cache.
+ * <p>
+ * Implementations are created through {@link PlayerDataStores} from the configured StorageType.
+ * Other plugins can provide their own backend by registering a factory there.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Loads a single player's data.
+     * @return the stored data, or null if the player has never been saved
+     * @throws CorruptDataException if the player's data exists but can't be read
+     */
+    PlayerData load(UUID uuid) throws IOException;
+
+    /** Loads every stored player. Used for bulk jobs such as migration. */
+    Map<UUID, PlayerData> loadAll() throws IOException;
+
+    /**
+     * Finds players with no lives left who died after {@code diedAfter} (epoch seconds), i.e.
+     * those still waiting to regenerate. Used to build the lockout index at startup.
+     * The default scans {@link #loadAll()}; stores that can answer from an index should override it.
+     * @return each player's lastDeathTime
+     */
+    default Map<UUID, Long> loadLockouts(long diedAfter) throws IOException {
+        Map<UUID, Long> result = new HashMap<>();
+        for (Map.Entry<UUID, PlayerData> entry : loadAll().entrySet()) {
+            if (isLockedOut(entry.getValue(), diedAfter)) {
+                result.put(entry.getKey(), entry.getValue().getLastDeathTime());
+            }
+        }
+        return result;
+    }
+
+    /** Whether {@code data} has no lives left and died after {@code diedAfter}. */
+    static boolean isLockedOut(PlayerData data, long diedAfter) {
+        return data.getLives() <= 0 && data.getLastDeathTime() > 0 && data.getLastDeathTime() > diedAfter;
+    }
+
+    /**
+     * Saves a batch of players. Called from the background saver with every change
+     * collected since the previous flush.
+     */
+    void saveAll(Map<UUID, PlayerData> batch) throws IOException;
+
+    /** Flushes anything buffered and releases files. */
+    void close() throws IOException;
+}
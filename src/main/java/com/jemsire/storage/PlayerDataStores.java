@@ -0,0 +1,66 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.LivesConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link PlayerDataStore} backends, keyed by the StorageType config value.
+ */
+public final class PlayerDataStores {
+
+    /** Creates a store rooted in the plugin's data folder. */
+    @FunctionalInterface
+    public interface Factory {
+        PlayerDataStore create(File dataFolder, LivesConfig config) throws IOException;
+    }
+
+    private static final Map<String, Factory> FACTORIES = new ConcurrentHashMap<>();
+
+    static {
+        register("JSON", (folder, config) -> new JsonPlayerDataStore(new File(folder, "players"), isGroupCommit(config)));
+        register("JOURNAL", (folder, config) -> new JournalPlayerDataStore(new File(folder, "journal"), isGroupCommit(config)));
+        register("MAPPED", (folder, config) -> new MappedPlayerDataStore(new File(folder, "players.dat"), isGroupCommit(config)));
+        register("SQL", (folder, config) -> new SqlPlayerDataStore(SqlPlayerDataStore.resolveUrl(config.getSqlUrl(), folder)));
+    }
+
+    private PlayerDataStores() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Registers a storage backend. Must be called before JemLives starts for the backend to be
+     * selectable through StorageType.
+     */
+    public static void register(String type, Factory factory) {
+        FACTORIES.put(type.toUpperCase(Locale.ROOT), factory);
+    }
+
+    /**
+     * Creates the store for {@code type}. There is deliberately no fallback: once data lives in
+     * one backend, any other backend only holds stale copies, and serving those would hand
+     * players back old lives.
+     * @throws IOException if the type is unknown or the store can't be opened
+     */
+    public static PlayerDataStore create(String type, File dataFolder, LivesConfig config) throws IOException {
+        String key = type != null ? type.toUpperCase(Locale.ROOT) : "JSON";
+        Factory factory = FACTORIES.get(key);
+        if (factory == null) {
+            throw new IOException("Unknown StorageType '" + type + "'. Valid types: " + String.join(", ", FACTORIES.keySet()));
+        }
+        try {
+            return factory.create(dataFolder, config);
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to open " + key + " storage", e);
+        }
+    }
+
+    /** Whether saves should be forced to disk once per flushed batch. */
+    public static boolean isGroupCommit(LivesConfig config) {
+        return "GROUP_COMMIT".equalsIgnoreCase(config.getDurabilityMode());
+    }
+}
@@ -0,0 +1,164 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.PlayerData;
+import com.jemsire.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Embedded single-file SQL storage over JDBC (SQLite or H2 in file mode).
+ * Each flushed batch is written with one prepared statement batch inside a single transaction,
+ * so many life changes share one commit.
+ * <p>
+ * The JDBC driver is not bundled with JemLives; the matching driver jar must be on the server
+ * classpath. Without it the store fails to open and JemLives stays disabled.
+ */
+public class SqlPlayerDataStore implements PlayerDataStore {
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS player_lives ("
+                    + "uuid CHAR(36) PRIMARY KEY, "
+                    + "lives INTEGER NOT NULL, "
+                    + "last_death_time BIGINT NOT NULL)";
+    // Lets queries such as "who is currently locked out" use an index instead of a scan.
+    private static final String CREATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_player_lives_last_death ON player_lives (last_death_time)";
+    private static final String SELECT_ONE = "SELECT lives, last_death_time FROM player_lives WHERE uuid = ?";
+    private static final String SELECT_ALL = "SELECT uuid, lives, last_death_time FROM player_lives";
+    private static final String SELECT_LOCKOUTS =
+            "SELECT uuid, last_death_time FROM player_lives WHERE last_death_time > ? AND lives <= 0";
+    private static final String UPSERT_SQLITE =
+            "INSERT INTO player_lives (uuid, lives, last_death_time) VALUES (?, ?, ?) "
+                    + "ON CONFLICT(uuid) DO UPDATE SET lives = excluded.lives, last_death_time = excluded.last_death_time";
+    private static final String UPSERT_H2 =
+            "MERGE INTO player_lives (uuid, lives, last_death_time) KEY (uuid) VALUES (?, ?, ?)";
+
+    private final Connection connection;
+    private final PreparedStatement selectOne;
+    private final PreparedStatement upsert;
+
+    public SqlPlayerDataStore(String url) throws IOException {
+        try {
+            DriverManager.getDriver(url);
+        } catch (SQLException e) {
+            throw new IOException("No JDBC driver found for " + url + ". JemLives does not bundle one: put the SQLite or H2 driver jar on the server classpath, or choose another StorageType.", e);
+        }
+        try {
+            this.connection = DriverManager.getConnection(url);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                statement.execute(CREATE_INDEX);
+            }
+            this.selectOne = connection.prepareStatement(SELECT_ONE);
+            this.upsert = connection.prepareStatement(url.startsWith("jdbc:h2:") ? UPSERT_H2 : UPSERT_SQLITE);
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new IOException("Could not open lives database at " + url, e);
+        }
+        Logger.info("Opened lives database " + url);
+    }
+
+    /** Uses the configured JDBC URL, or an SQLite file in the data folder when none is set. */
+    static String resolveUrl(String configuredUrl, File dataFolder) {
+        if (configuredUrl != null && !configuredUrl.isEmpty()) {
+            return configuredUrl;
+        }
+        return "jdbc:sqlite:" + new File(dataFolder, "lives.db").getAbsolutePath();
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) throws IOException {
+        try {
+            selectOne.setString(1, uuid.toString());
+            try (ResultSet rs = selectOne.executeQuery()) {
+                PlayerData data = rs.next() ? read(rs, 1) : null;
+                connection.commit();
+                return data;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to load player " + uuid, e);
+        }
+    }
+
+    @Override
+    public synchronized Map<UUID, PlayerData> loadAll() throws IOException {
+        Map<UUID, PlayerData> result = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SELECT_ALL)) {
+            while (rs.next()) {
+                result.put(UUID.fromString(rs.getString(1)), read(rs, 2));
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IOException("Failed to load players", e);
+        }
+        return result;
+    }
+
+    /** Answered from the last_death_time index. */
+    @Override
+    public synchronized Map<UUID, Long> loadLockouts(long diedAfter) throws IOException {
+        Map<UUID, Long> result = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_LOCKOUTS)) {
+            statement.setLong(1, Math.max(0, diedAfter));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    result.put(UUID.fromString(rs.getString(1)), rs.getLong(2));
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IOException("Failed to load locked-out players", e);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void saveAll(Map<UUID, PlayerData> batch) throws IOException {
+        if (batch.isEmpty()) return;
+
+        try {
+            for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+                upsert.setString(1, entry.getKey().toString());
+                upsert.setInt(2, entry.getValue().getLives());
+                upsert.setLong(3, entry.getValue().getLastDeathTime());
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                upsert.clearBatch();
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw new IOException("Failed to save " + batch.size() + " players", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to close lives database", e);
+        }
+    }
+
+    private static PlayerData read(ResultSet rs, int firstColumn) throws SQLException {
+        PlayerData data = new PlayerData();
+        data.setLives(rs.getInt(firstColumn));
+        data.setLastDeathTime(rs.getLong(firstColumn + 1));
+        return data;
+    }
+}
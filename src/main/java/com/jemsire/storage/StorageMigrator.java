@@ -0,0 +1,258 @@
+package com.jemsire.storage;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.gson.stream.JsonToken;
+import com.jemsire.config.PlayerData;
+import com.jemsire.utils.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Copies legacy {@code players/<uuid>.json} files into another {@link PlayerDataStore}.
+ * <p>
+ * Files are sorted by name and split into fixed-size batches that are parsed in parallel with a
+ * streaming {@link JsonReader} and written to the target with one {@code saveAll} per batch.
+ * The name range of every committed batch is appended to {@code migration.progress}, so a
+ * migration that is interrupted resumes where it left off. A {@code migration.done} marker is
+ * written when everything has been copied. Players that already exist in the target are never
+ * overwritten, and the JSON files are left in place as a backup.
+ * <p>
+ * A migration can run while players are online. The skip check is repeated right before each
+ * batch is written, and players that start being skipped while their batch is being written are
+ * reported so the caller can write its newer copy again.
+ */
+public class StorageMigrator {
+    private static final int BATCH_SIZE = 2000;
+    private static final long PROGRESS_INTERVAL_MS = 2000;
+
+    private final File playersFolder;
+    private final File progressFile;
+    private final File doneFile;
+    private final PlayerDataStore target;
+
+    public StorageMigrator(File dataFolder, PlayerDataStore target) {
+        this.playersFolder = new File(dataFolder, "players");
+        this.progressFile = new File(dataFolder, "migration.progress");
+        this.doneFile = new File(dataFolder, "migration.done");
+        this.target = target;
+    }
+
+    /** Whether there are legacy JSON files that have not been fully migrated yet. */
+    public boolean isPending() {
+        String[] files = playersFolder.list((dir, name) -> name.endsWith(".json"));
+        return files != null && files.length > 0 && !doneFile.exists();
+    }
+
+    /**
+     * Runs the migration, blocking until every batch has been written.
+     * @param skip players to leave untouched, e.g. those already loaded with newer data
+     * @param overtaken receives players that became skipped while their batch was being written,
+     *                  whose migrated copy may have replaced newer data
+     * @param progress receives human-readable progress lines
+     * @return the number of players copied into the target store
+     */
+    public int migrate(Predicate<UUID> skip, Consumer<UUID> overtaken, Consumer<String> progress) throws IOException {
+        long start = System.currentTimeMillis();
+        List<String> names = listPlayerFiles();
+        List<String[]> completed = readCompletedRanges();
+        Set<UUID> existing = new HashSet<>(target.loadAll().keySet());
+
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < names.size(); i += BATCH_SIZE) {
+            List<String> batch = names.subList(i, Math.min(i + BATCH_SIZE, names.size()));
+            if (!isCompleted(batch, completed)) {
+                batches.add(batch);
+            }
+        }
+
+        int total = names.size();
+        int alreadyDone = total - batches.stream().mapToInt(List::size).sum();
+        if (alreadyDone > 0) {
+            progress.accept("Resuming migration: " + alreadyDone + "/" + total + " files already migrated.");
+        } else {
+            progress.accept("Migrating " + total + " player files...");
+        }
+
+        AtomicInteger processed = new AtomicInteger(alreadyDone);
+        AtomicInteger migrated = new AtomicInteger();
+        long[] lastReport = {System.currentTimeMillis()};
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "JemLives-Migration");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<String> batch : batches) {
+                futures.add(pool.submit(() -> {
+                    Map<UUID, PlayerData> parsed = parseBatch(batch, uuid -> existing.contains(uuid) || skip.test(uuid));
+                    // Parsing takes a while; anyone who was loaded meanwhile now has newer data than their file.
+                    parsed.keySet().removeIf(skip);
+                    target.saveAll(parsed);
+                    for (UUID uuid : parsed.keySet()) {
+                        if (skip.test(uuid)) {
+                            overtaken.accept(uuid);
+                        }
+                    }
+                    recordCompleted(batch);
+                    migrated.addAndGet(parsed.size());
+
+                    int done = processed.addAndGet(batch.size());
+                    synchronized (lastReport) {
+                        long now = System.currentTimeMillis();
+                        if (now - lastReport[0] >= PROGRESS_INTERVAL_MS) {
+                            lastReport[0] = now;
+                            progress.accept("Migrated " + done + "/" + total + " player files (" + (done * 100L / total) + "%).");
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw new IOException("Migration stopped; it will resume from the last completed batch", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Files.writeString(doneFile.toPath(), total + " files migrated at " + System.currentTimeMillis() + "\n");
+        Files.deleteIfExists(progressFile.toPath());
+        progress.accept("Migration complete: " + migrated.get() + " players copied from " + total + " files in "
+                + (System.currentTimeMillis() - start) + "ms.");
+        return migrated.get();
+    }
+
+    /**
+     * Reads one player's legacy JSON file, for players loaded before the migration reached them.
+     * @return the legacy data, or null if there is no file for the player
+     */
+    public PlayerData loadLegacy(UUID uuid) throws IOException {
+        Path file = playersFolder.toPath().resolve(uuid + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(in)) {
+            return readPlayerData(reader);
+        } catch (MalformedJsonException | RuntimeException e) {
+            throw new CorruptDataException("Unreadable player file " + file.getFileName(), e);
+        }
+    }
+
+    private List<String> listPlayerFiles() throws IOException {
+        List<String> names = new ArrayList<>();
+        if (!playersFolder.isDirectory()) {
+            return names;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(playersFolder.toPath(), "*.json")) {
+            for (Path path : stream) {
+                names.add(path.getFileName().toString());
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private Map<UUID, PlayerData> parseBatch(List<String> batch, Predicate<UUID> skip) {
+        Map<UUID, PlayerData> parsed = new HashMap<>(batch.size() * 2);
+        for (String name : batch) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (skip.test(uuid)) {
+                continue;
+            }
+
+            try (BufferedReader in = Files.newBufferedReader(playersFolder.toPath().resolve(name), StandardCharsets.UTF_8);
+                 JsonReader reader = new JsonReader(in)) {
+                parsed.put(uuid, readPlayerData(reader));
+            } catch (IOException | RuntimeException e) {
+                Logger.warning("Skipping unreadable player file " + name + ": " + e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    /** Reads the two fields written by Gson ({@code lives}, {@code lastDeathTime}) without building a tree. */
+    private static PlayerData readPlayerData(JsonReader reader) throws IOException {
+        PlayerData data = new PlayerData();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (field.equalsIgnoreCase("lives")) {
+                data.setLives(reader.nextInt());
+            } else if (field.equalsIgnoreCase("lastDeathTime")) {
+                data.setLastDeathTime(reader.nextLong());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return data;
+    }
+
+    private List<String[]> readCompletedRanges() throws IOException {
+        List<String[]> ranges = new ArrayList<>();
+        if (!progressFile.exists()) {
+            return ranges;
+        }
+        for (String line : Files.readAllLines(progressFile.toPath(), StandardCharsets.UTF_8)) {
+            String[] range = line.split(" ");
+            // A torn final line from a crash is ignored; that batch is simply redone.
+            if (range.length == 2) {
+                ranges.add(range);
+            }
+        }
+        return ranges;
+    }
+
+    private static boolean isCompleted(List<String> batch, List<String[]> completed) {
+        String first = batch.get(0);
+        String last = batch.get(batch.size() - 1);
+        for (String[] range : completed) {
+            if (range[0].compareTo(first) <= 0 && range[1].compareTo(last) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void recordCompleted(List<String> batch) throws IOException {
+        try (Writer out = Files.newBufferedWriter(progressFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(batch.get(0) + " " + batch.get(batch.size() - 1) + "\n");
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.jemsire.config.LivesConfig;
 import com.jemsire.plugin.JemLives;
-import com.jemsire.utils.LivesManager;
 import com.jemsire.utils.Logger;
 
 import javax.annotation.Nonnull;
@@ -26,6 +25,62 @@ public class LivesHud extends CustomUIHud {
     /** Upper bound for dynamic life icons (avoids huge markup). */
     private static final int MAX_LIFE_ICONS_CAP = 20;
 
+    /** "#lifeIconN.Visible" for every icon, indexed by N. */
+    private static final String[] VISIBLE_SELECTORS = new String[MAX_LIFE_ICONS_CAP + 1];
+
+    static {
+        for (int i = 1; i <= MAX_LIFE_ICONS_CAP; i++) {
+            VISIBLE_SELECTORS[i] = "#lifeIcon" + i + ".Visible";
+        }
+    }
+
+    /**
+     * Prebuilt inline markup for every icon, in its visible and hidden form, shared by all players.
+     * Depends only on the icon path and icon count; dropped on reload.
+     */
+    private record IconMarkup(String iconPath, int icons, String[] visible, String[] hidden) {
+        static IconMarkup build(String iconPath, int icons) {
+            String[] visible = new String[icons + 1];
+            String[] hidden = new String[icons + 1];
+            for (int i = 1; i <= icons; i++) {
+                visible[i] = iconMarkup(iconPath, i, true);
+                hidden[i] = iconMarkup(iconPath, i, false);
+            }
+            return new IconMarkup(iconPath, icons, visible, hidden);
+        }
+
+        private static String iconMarkup(String iconPath, int index, boolean visible) {
+            return "Group #lifeIcon" + index + " { Background: PatchStyle(TexturePath: \"" + iconPath + "\"); Visible: " + visible + "; Anchor: (Width: 36, Height: 36, Right: 4, Left: 4); Label { Text: \"\"; } }";
+        }
+    }
+
+    private static volatile IconMarkup iconMarkup;
+
+    /** Drops the cached icon markup so the next build uses the current config. Call on reload. */
+    public static void invalidateMarkup() {
+        iconMarkup = null;
+    }
+
+    private static IconMarkup getIconMarkup(String iconPath, int icons) {
+        IconMarkup markup = iconMarkup;
+        if (markup == null || markup.icons() != icons || !markup.iconPath().equals(iconPath)) {
+            markup = IconMarkup.build(iconPath, icons);
+            iconMarkup = markup;
+        }
+        return markup;
+    }
+
+    /** Icons created by the last build, and how many of them the client currently shows. */
+    private volatile int builtIcons;
+    private volatile int sentLives;
+
+    /** Latest lives count, pushed by LivesHudManager from lives change events. */
+    private volatile int lives;
+
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
     @Override
     protected void build(UICommandBuilder builder) {
         builder.append(LAYOUT);
@@ -47,45 +102,56 @@ public class LivesHud extends CustomUIHud {
         int maxLives = Math.min(Math.max(1, config.getInitialLivesMax()), MAX_LIFE_ICONS_CAP);
         int lives = getLives();
         String iconPath = config.getHudIconPath() != null ? config.getHudIconPath() : "Hud/lives_icon.png";
-        Logger.debug("Building lives HUD for player " + getPlayerRef().getUsername() + ": " + lives + " / " + maxLives + " icons");
+        Logger.debug(() -> "Building lives HUD for player " + getPlayerRef().getUsername() + ": " + lives + " / " + maxLives + " icons");
 
+        IconMarkup markup = getIconMarkup(iconPath, maxLives);
         builder.clear("#lifeIconsContainer");
         for (int i = 1; i <= maxLives; i++) {
-            String markup = "Group #lifeIcon" + i + " { Background: PatchStyle(TexturePath: \"" + iconPath + "\"); Visible: " + (i <= lives) + "; Anchor: (Width: 36, Height: 36, Right: 4, Left: 4); Label { Text: \"\"; } }";
-            builder.appendInline("#lifeIconsContainer", markup);
+            builder.appendInline("#lifeIconsContainer", i <= lives ? markup.visible()[i] : markup.hidden()[i]);
         }
+        builtIcons = maxLives;
+        sentLives = lives;
     }
 
-    /** Updates visibility of life icons (current lives). Call from HudManager when lives change; icon count was set at build. */
-    public void updateContent(UICommandBuilder builder) {
+    /**
+     * Updates visibility of life icons (current lives). Call from HudManager when lives change; icon count was set at build.
+     * Only icons whose visibility differs from what the client last received are set.
+     * @return whether anything was added to the builder
+     */
+    public boolean updateContent(UICommandBuilder builder) {
         LivesConfig config = getConfig();
-        if (config == null) return;
+        if (config == null) return false;
 
         if(!config.isShowLivesHud()){
-            return;
+            return false;
         }
 
-        int maxLives = Math.min(Math.max(1, config.getInitialLivesMax()), MAX_LIFE_ICONS_CAP);
+        int icons = builtIcons;
         int lives = getLives();
-        Logger.debug("Updating lives HUD for player " + getPlayerRef().getUsername() + ": " + lives + " / " + maxLives);
+        int shown = Math.min(Math.max(lives, 0), icons);
+        int previous = Math.min(Math.max(sentLives, 0), icons);
+        sentLives = lives;
+        if (shown == previous) {
+            return false;
+        }
 
-        for (int i = 1; i <= maxLives; i++) {
-            builder.set("#lifeIcon" + i + ".Visible", i <= lives);
+        Logger.debug(() -> "Updating lives HUD for player " + getPlayerRef().getUsername() + ": " + previous + " -> " + shown + " / " + icons);
+        for (int i = Math.min(previous, shown) + 1; i <= Math.max(previous, shown); i++) {
+            builder.set(VISIBLE_SELECTORS[i], i <= shown);
         }
+        return true;
     }
 
-    /** Send an incremental update to the client (e.g. after lives change). */
+    /** Send an incremental update to the client (e.g. after lives change). Sends nothing if no icon changed. */
     public void refresh() {
         UICommandBuilder builder = new UICommandBuilder();
-        updateContent(builder);
-        update(false, builder);
+        if (updateContent(builder)) {
+            update(false, builder);
+        }
     }
 
     private int getLives() {
-        JemLives plugin = JemLives.get();
-        if (plugin == null) return 0;
-        LivesManager lm = plugin.getLivesManager();
-        return lm != null ? lm.getLives(getPlayerRef().getUuid()) : 0;
+        return lives;
     }
 
     private LivesConfig getConfig() {
@@ -16,8 +16,10 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.jemsire.config.LivesConfig;
 import com.jemsire.plugin.JemLives;
 import com.jemsire.utils.LivesManager;
+import com.jemsire.utils.TimeUtils;
 
 import javax.annotation.Nonnull;
+import java.io.UncheckedIOException;
 
 /**
  * Lives info page built from MCP Custom UI docs (api/server-internals/custom-ui).
@@ -49,11 +51,15 @@ public class LivesInfoPage extends InteractiveCustomUIPage<LivesInfoPage.PageEve
         JemLives plugin = JemLives.get();
         if (plugin != null) {
             LivesManager lm = plugin.getLivesManager();
-            lives = lm.getLives(playerRef.getUuid());
-            long regenSeconds = lm.getRemainingRegenTime(playerRef.getUuid());
-            regenText = regenSeconds > 0
-                    ? "Next life in: " + formatTime(regenSeconds)
-                    : (lives > 0 ? "Fully regenerated." : "Regenerating...");
+            try {
+                lives = lm.getLives(playerRef.getUuid());
+                long regenSeconds = lm.getRemainingRegenTime(playerRef.getUuid());
+                regenText = regenSeconds > 0
+                        ? "Next life in: " + TimeUtils.formatTime(regenSeconds)
+                        : (lives > 0 ? "Fully regenerated." : "Regenerating...");
+            } catch (UncheckedIOException e) {
+                regenText = "Your lives could not be loaded.";
+            }
         }
         cmd.set("#LivesLabel.Text", "Lives: " + lives);
         cmd.set("#RegenLabel.Text", regenText);
@@ -101,17 +107,6 @@ public class LivesInfoPage extends InteractiveCustomUIPage<LivesInfoPage.PageEve
         }
     }
 
-    private static String formatTime(long seconds) {
-        long h = seconds / 3600;
-        long m = (seconds % 3600) / 60;
-        long s = seconds % 60;
-        StringBuilder sb = new StringBuilder();
-        if (h > 0) sb.append(h).append("h ");
-        if (m > 0) sb.append(m).append("m ");
-        sb.append(s).append("s");
-        return sb.toString();
-    }
-
     public static class PageEventData {
         public static final BuilderCodec<PageEventData> CODEC = BuilderCodec.builder(
                         PageEventData.class, PageEventData::new
@@ -0,0 +1,359 @@
+package com.jemsire.utils;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.jemsire.plugin.JemLives;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * Background writer behind {@link Logger}.
+ * Callers only place an entry in a bounded lock-free ring buffer; a single daemon thread drains it
+ * and does the actual console output, stack trace printing and event file writes. When the buffer
+ * is full the entry is dropped and counted instead of blocking the caller, and the drop count is
+ * reported once the buffer has room again. The writer sleeps while the buffer is empty and the
+ * first entry queued after that wakes it, so an idle server costs no wakeups.
+ * <p>
+ * Events are also appended as JSON lines to {@code events/events.jsonl} when EventLogEnabled is on.
+ * The file rolls over at {@link #EVENT_FILE_MAX_BYTES}, keeping {@link #EVENT_FILES_KEPT} old files.
+ */
+final class AsyncLogSink {
+    private static final int CAPACITY = 8192;
+    /** Upper bound on an idle sleep; offer wakes the writer sooner whenever there is work. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long EVENT_FILE_MAX_BYTES = 10L * 1024 * 1024;
+    private static final int EVENT_FILES_KEPT = 3;
+
+    /** A queued log line or event; built by the caller, formatted by the writer thread. */
+    static final class Entry {
+        final long time = System.currentTimeMillis();
+        final Level level;
+        final String message;
+        final Throwable throwable;
+        final String event;
+        final UUID player;
+        final String key;
+        final Object value;
+
+        Entry(Level level, String message, Throwable throwable) {
+            this(level, message, throwable, null, null, null, null);
+        }
+
+        Entry(String event, UUID player, String key, Object value) {
+            this(null, null, null, event, player, key, value);
+        }
+
+        private Entry(Level level, String message, Throwable throwable, String event, UUID player, String key, Object value) {
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.event = event;
+            this.player = player;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final RingBuffer buffer = new RingBuffer(CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private final AtomicBoolean idle = new AtomicBoolean();
+    private volatile boolean running = true;
+    private volatile boolean eventLogEnabled;
+    private final Thread thread;
+
+    private BufferedWriter eventWriter;
+    private File eventFile;
+    private long eventFileBytes;
+
+    AsyncLogSink() {
+        thread = new Thread(this::run, "JemLives-Log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void setEventLogEnabled(boolean enabled) {
+        this.eventLogEnabled = enabled;
+    }
+
+    boolean isEventLogEnabled() {
+        return eventLogEnabled;
+    }
+
+    /** Queues an entry; returns false if the sink has stopped and the caller should write it itself. */
+    boolean offer(Entry entry) {
+        if (!running) {
+            return false;
+        }
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+            return true;
+        }
+        // The writer only sleeps once it has found the buffer empty, so this is the first entry since.
+        if (idle.get() && idle.compareAndSet(true, false)) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    /** Writes out everything still queued and stops the writer thread. */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Entry entry = buffer.poll();
+            if (entry != null) {
+                handle(entry);
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+
+            // Idle: report drops and push buffered event lines out before sleeping.
+            reportDrops();
+            flushEvents();
+            idle.set(true);
+            // Re-check after announcing the sleep so an entry queued in between isn't left waiting.
+            if (buffer.isEmpty() && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            idle.set(false);
+        }
+        reportDrops();
+        closeEvents();
+    }
+
+    private void handle(Entry entry) {
+        try {
+            if (entry.event != null) {
+                writeEvent(entry);
+            } else {
+                write(entry);
+            }
+        } catch (Exception e) {
+            System.err.println("[JemLives] Failed to write log entry: " + e);
+        }
+    }
+
+    /** Writes a log line the way Logger did before it was asynchronous. */
+    static void write(Entry entry) {
+        HytaleLogger loggerInstance = Logger.getHytaleLogger();
+        String message = entry.throwable != null ? entry.message + ": " + entry.throwable.getMessage() : entry.message;
+        if (loggerInstance != null) {
+            loggerInstance.at(entry.level).log(message);
+        } else if (entry.throwable != null) {
+            System.err.println("[" + entry.level + "] " + message);
+        } else {
+            // Fallback to system out if logger not available
+            System.out.println("[" + entry.level + "] " + message);
+        }
+        if (entry.throwable != null) {
+            entry.throwable.printStackTrace();
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total != droppedReported) {
+            write(new Entry(Level.WARNING, "Log buffer full; dropped " + (total - droppedReported) + " log entries.", null));
+            droppedReported = total;
+        }
+    }
+
+    private void writeEvent(Entry entry) throws IOException {
+        if (!eventLogEnabled) {
+            closeEvents();
+            return;
+        }
+        if (eventWriter == null && !openEvents()) {
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(128);
+        line.append("{\"time\":\"").append(Instant.ofEpochMilli(entry.time)).append('"');
+        line.append(",\"event\":");
+        appendJsonString(line, entry.event);
+        if (entry.player != null) {
+            line.append(",\"player\":\"").append(entry.player).append('"');
+        }
+        if (entry.key != null) {
+            line.append(',');
+            appendJsonString(line, entry.key);
+            line.append(':');
+            if (entry.value instanceof Number || entry.value instanceof Boolean) {
+                line.append(entry.value);
+            } else {
+                appendJsonString(line, String.valueOf(entry.value));
+            }
+        }
+        line.append("}\n");
+
+        eventWriter.write(line.toString());
+        eventFileBytes += line.length();
+        if (eventFileBytes >= EVENT_FILE_MAX_BYTES) {
+            rollEvents();
+        }
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private boolean openEvents() {
+        JemLives plugin = JemLives.get();
+        if (plugin == null) {
+            return false;
+        }
+        try {
+            File folder = new File(plugin.getDataDirectory().toFile(), "events");
+            if (!folder.exists()) {
+                folder.mkdirs();
+            }
+            eventFile = new File(folder, "events.jsonl");
+            eventFileBytes = eventFile.length();
+            eventWriter = Files.newBufferedWriter(eventFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            write(new Entry(Level.WARNING, "Could not open the event log; disabling it", e));
+            eventLogEnabled = false;
+            return false;
+        }
+    }
+
+    /** events.jsonl becomes events.1.jsonl, events.1.jsonl becomes events.2.jsonl, and so on. */
+    private void rollEvents() throws IOException {
+        closeEvents();
+        File folder = eventFile.getParentFile();
+        Files.deleteIfExists(new File(folder, "events." + EVENT_FILES_KEPT + ".jsonl").toPath());
+        for (int i = EVENT_FILES_KEPT - 1; i >= 1; i--) {
+            File from = new File(folder, "events." + i + ".jsonl");
+            if (from.exists()) {
+                Files.move(from.toPath(), new File(folder, "events." + (i + 1) + ".jsonl").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(eventFile.toPath(), new File(folder, "events.1.jsonl").toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void flushEvents() {
+        if (eventWriter == null) return;
+        try {
+            eventWriter.flush();
+        } catch (IOException e) {
+            write(new Entry(Level.WARNING, "Failed to flush the event log", e));
+        }
+    }
+
+    private void closeEvents() {
+        if (eventWriter == null) return;
+        try {
+            eventWriter.close();
+        } catch (IOException e) {
+            write(new Entry(Level.WARNING, "Failed to close the event log", e));
+        }
+        eventWriter = null;
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring buffer.
+     * Each slot carries a sequence number: producers claim a position with one CAS on the tail and
+     * publish by advancing the slot's sequence; the consumer frees a slot by moving its sequence a
+     * lap ahead. Full is detected from the sequence, so offer never waits.
+     */
+    private static final class RingBuffer {
+        private final Entry[] items;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private long head; // consumer thread only
+
+        RingBuffer(int capacity) {
+            items = new Entry[capacity];
+            sequences = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(Entry entry) {
+            long position;
+            int index;
+            while (true) {
+                position = tail.get();
+                index = (int) (position & mask);
+                long available = sequences.get(index) - position;
+                if (available == 0) {
+                    if (tail.compareAndSet(position, position + 1)) break;
+                } else if (available < 0) {
+                    return false; // The consumer hasn't freed this slot yet: full
+                }
+            }
+            items[index] = entry;
+            // A full volatile write, so a writer that has just gone idle either sees this entry or is seen as idle.
+            sequences.set(index, position + 1);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return sequences.get((int) (head & mask)) != head + 1;
+        }
+
+        Entry poll() {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            Entry entry = items[index];
+            items[index] = null;
+            sequences.lazySet(index, head + items.length);
+            head++;
+            return entry;
+        }
+    }
+}
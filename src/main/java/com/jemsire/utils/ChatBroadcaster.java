@@ -3,8 +3,18 @@ package com.jemsire.utils;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.jemsire.plugin.JemLives;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * Utility class for broadcasting messages to players in chat.
  * Supports both plain text and color formatting (tags and legacy codes).
@@ -13,6 +23,8 @@ public class ChatBroadcaster {
     
     /**
      * Broadcasts a message to all online players.
+     * The message is formatted once and shared; each world then sends it to its own players in a
+     * single task on the world thread, so the caller never blocks on the fan-out.
      * @param message The message to broadcast
      */
     public static void broadcastToAll(String message) {
@@ -31,20 +43,49 @@ public class ChatBroadcaster {
             
             // Format message with colors if tags/codes are present, otherwise use plain text
             Message msg = (TinyMsg.containsColorTags(message) || message.contains("&"))
-                ? TinyMsg.format(message)
+                ? MessageCache.format(message)
                 : Message.raw(message);
             
-            universe.getPlayers().forEach(playerRef -> {
-                try {
-                    playerRef.sendMessage(msg);
-                } catch (Exception e) {
-                    Logger.warning("Failed to send message to player: " + e.getMessage());
-                }
-            });
+            fanOut(universe.getPlayers(), PlayerRef::getWorldUuid, worldUuid -> {
+                World world = universe.getWorld(worldUuid);
+                return world != null ? world::execute : null;
+            }, playerRef -> playerRef.sendMessage(msg));
         } catch (Exception e) {
             Logger.severe("Failed to broadcast message", e);
         }
     }
+
+    /**
+     * Groups recipients by world and hands each world's group to that world's executor in one task.
+     * Recipients with no world, or whose world has no executor, are sent to on the calling thread.
+     * Kept separate from the server types so the fan-out can be measured with stub players.
+     */
+    static <R> void fanOut(Iterable<R> recipients, Function<R, UUID> worldOf,
+                           Function<UUID, Executor> executorFor, Consumer<R> send) {
+        Map<UUID, List<R>> byWorld = new HashMap<>();
+        for (R recipient : recipients) {
+            byWorld.computeIfAbsent(worldOf.apply(recipient), k -> new ArrayList<>()).add(recipient);
+        }
+
+        byWorld.forEach((worldUuid, group) -> {
+            Executor executor = worldUuid != null ? executorFor.apply(worldUuid) : null;
+            if (executor == null) {
+                sendToAll(group, send);
+                return;
+            }
+            executor.execute(() -> sendToAll(group, send));
+        });
+    }
+
+    private static <R> void sendToAll(List<R> recipients, Consumer<R> send) {
+        for (R recipient : recipients) {
+            try {
+                send.accept(recipient);
+            } catch (Exception e) {
+                Logger.warning("Failed to send message to player: " + e.getMessage());
+            }
+        }
+    }
     
     /**
      * Sends a message to a specific player.
@@ -60,7 +101,7 @@ public class ChatBroadcaster {
             
             // Format message with colors if tags/codes are present, otherwise use plain text
             Message msg = (TinyMsg.containsColorTags(message) || message.contains("&"))
-                ? TinyMsg.format(message)
+                ? MessageCache.format(message)
                 : Message.raw(message);
             
             playerRef.sendMessage(msg);
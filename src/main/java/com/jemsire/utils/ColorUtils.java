@@ -3,111 +3,64 @@ package com.jemsire.utils;
 import java.awt.Color;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Utility class for handling color codes in messages.
- * Supports both & color codes (like &a, &c) and hex colors (like #FF0000 or &x&F&F&0&0&0&0).
+ * Supports both & color codes (like &a, &c) and hex colors (like #FF0000 or &#FF0000).
  */
 public class ColorUtils {
     
-    // Minecraft/Hytale color code mapping
-    private static final Map<Character, Color> COLOR_CODES = new HashMap<>();
-    
-    static {
-        COLOR_CODES.put('0', new Color(0, 0, 0));       // Black
-        COLOR_CODES.put('1', new Color(0, 0, 170));      // Dark Blue
-        COLOR_CODES.put('2', new Color(0, 170, 0));      // Dark Green
-        COLOR_CODES.put('3', new Color(0, 170, 170));    // Dark Aqua
-        COLOR_CODES.put('4', new Color(170, 0, 0));      // Dark Red
-        COLOR_CODES.put('5', new Color(170, 0, 170));    // Dark Purple
-        COLOR_CODES.put('6', new Color(255, 170, 0));    // Gold
-        COLOR_CODES.put('7', new Color(170, 170, 170));  // Gray
-        COLOR_CODES.put('8', new Color(85, 85, 85));     // Dark Gray
-        COLOR_CODES.put('9', new Color(85, 85, 255));    // Blue
-        COLOR_CODES.put('a', new Color(85, 255, 85));     // Green
-        COLOR_CODES.put('b', new Color(85, 255, 255));   // Aqua
-        COLOR_CODES.put('c', new Color(255, 85, 85));    // Red
-        COLOR_CODES.put('d', new Color(255, 85, 255));   // Light Purple
-        COLOR_CODES.put('e', new Color(255, 255, 85));   // Yellow
-        COLOR_CODES.put('f', new Color(255, 255, 255));  // White
-    }
-    
-    // Format codes
-    private static final Map<Character, String> FORMAT_CODES = new HashMap<>();
-    
-    static {
-        FORMAT_CODES.put('k', "obfuscated");
-        FORMAT_CODES.put('l', "bold");
-        FORMAT_CODES.put('m', "strikethrough");
-        FORMAT_CODES.put('n', "underline");
-        FORMAT_CODES.put('o', "italic");
-        FORMAT_CODES.put('r', "reset");
-    }
-    
+    // Minecraft/Hytale color codes, in code order 0-9a-f
+    private static final String COLOR_CODE_CHARS = "0123456789abcdef";
+    private static final String[] COLOR_NAMES = {
+            "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray",
+            "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white"
+    };
+    private static final Color[] COLOR_VALUES = {
+            new Color(0, 0, 0),       // Black
+            new Color(0, 0, 170),     // Dark Blue
+            new Color(0, 170, 0),     // Dark Green
+            new Color(0, 170, 170),   // Dark Aqua
+            new Color(170, 0, 0),     // Dark Red
+            new Color(170, 0, 170),   // Dark Purple
+            new Color(255, 170, 0),   // Gold
+            new Color(170, 170, 170), // Gray
+            new Color(85, 85, 85),    // Dark Gray
+            new Color(85, 85, 255),   // Blue
+            new Color(85, 255, 85),   // Green
+            new Color(85, 255, 255),  // Aqua
+            new Color(255, 85, 85),   // Red
+            new Color(255, 85, 255),  // Light Purple
+            new Color(255, 255, 85),  // Yellow
+            new Color(255, 255, 255)  // White
+    };
+
+    // Format codes and the TinyMsg tag each converts to; obfuscated and strikethrough have no tag
+    private static final String FORMAT_CODE_CHARS = "klmnor";
+    private static final String[] FORMAT_TAGS = {null, "bold", null, "underline", "italic", "reset"};
+
+    // Lookup tables indexed by code character (either case)
+    private static final Color[] COLOR_BY_CODE = new Color[128];
+    private static final String[] TAG_BY_CODE = new String[128];
+    private static final boolean[] IS_FORMAT_CODE = new boolean[128];
+
     // Named colors map (for TinyMsg compatibility)
     private static final Map<String, Color> NAMED_COLORS = new HashMap<>();
     
     static {
-        NAMED_COLORS.put("black", new Color(0, 0, 0));
-        NAMED_COLORS.put("dark_blue", new Color(0, 0, 170));
-        NAMED_COLORS.put("dark_green", new Color(0, 170, 0));
-        NAMED_COLORS.put("dark_aqua", new Color(0, 170, 170));
-        NAMED_COLORS.put("dark_red", new Color(170, 0, 0));
-        NAMED_COLORS.put("dark_purple", new Color(170, 0, 170));
-        NAMED_COLORS.put("gold", new Color(255, 170, 0));
-        NAMED_COLORS.put("gray", new Color(170, 170, 170));
-        NAMED_COLORS.put("dark_gray", new Color(85, 85, 85));
-        NAMED_COLORS.put("blue", new Color(85, 85, 255));
-        NAMED_COLORS.put("green", new Color(85, 255, 85));
-        NAMED_COLORS.put("aqua", new Color(85, 255, 255));
-        NAMED_COLORS.put("red", new Color(255, 85, 85));
-        NAMED_COLORS.put("light_purple", new Color(255, 85, 255));
-        NAMED_COLORS.put("yellow", new Color(255, 255, 85));
-        NAMED_COLORS.put("white", new Color(255, 255, 255));
-    }
-    
-    // Color code to name mapping (for legacy code conversion)
-    private static final Map<Character, String> CODE_TO_COLOR_NAME = new HashMap<>();
-    
-    static {
-        CODE_TO_COLOR_NAME.put('0', "black");
-        CODE_TO_COLOR_NAME.put('1', "dark_blue");
-        CODE_TO_COLOR_NAME.put('2', "dark_green");
-        CODE_TO_COLOR_NAME.put('3', "dark_aqua");
-        CODE_TO_COLOR_NAME.put('4', "dark_red");
-        CODE_TO_COLOR_NAME.put('5', "dark_purple");
-        CODE_TO_COLOR_NAME.put('6', "gold");
-        CODE_TO_COLOR_NAME.put('7', "gray");
-        CODE_TO_COLOR_NAME.put('8', "dark_gray");
-        CODE_TO_COLOR_NAME.put('9', "blue");
-        CODE_TO_COLOR_NAME.put('a', "green");
-        CODE_TO_COLOR_NAME.put('b', "aqua");
-        CODE_TO_COLOR_NAME.put('c', "red");
-        CODE_TO_COLOR_NAME.put('d', "light_purple");
-        CODE_TO_COLOR_NAME.put('e', "yellow");
-        CODE_TO_COLOR_NAME.put('f', "white");
-    }
-    
-    // Format code to style name mapping (for legacy code conversion)
-    private static final Map<Character, String> CODE_TO_STYLE_NAME = new HashMap<>();
-    
-    static {
-        CODE_TO_STYLE_NAME.put('k', "obfuscated");
-        CODE_TO_STYLE_NAME.put('l', "bold");
-        CODE_TO_STYLE_NAME.put('m', "strikethrough");
-        CODE_TO_STYLE_NAME.put('n', "underline");
-        CODE_TO_STYLE_NAME.put('o', "italic");
-        CODE_TO_STYLE_NAME.put('r', "reset");
+        for (int i = 0; i < COLOR_CODE_CHARS.length(); i++) {
+            char code = COLOR_CODE_CHARS.charAt(i);
+            COLOR_BY_CODE[code] = COLOR_BY_CODE[Character.toUpperCase(code)] = COLOR_VALUES[i];
+            TAG_BY_CODE[code] = TAG_BY_CODE[Character.toUpperCase(code)] = COLOR_NAMES[i];
+            NAMED_COLORS.put(COLOR_NAMES[i], COLOR_VALUES[i]);
+        }
+        for (int i = 0; i < FORMAT_CODE_CHARS.length(); i++) {
+            char code = FORMAT_CODE_CHARS.charAt(i);
+            IS_FORMAT_CODE[code] = IS_FORMAT_CODE[Character.toUpperCase(code)] = true;
+            TAG_BY_CODE[code] = TAG_BY_CODE[Character.toUpperCase(code)] = FORMAT_TAGS[i];
+        }
     }
     
-    // Pattern for hex colors: #RRGGBB or #RGB
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([0-9A-Fa-f]{6})|#([0-9A-Fa-f]{6})|#([0-9A-Fa-f]{3})");
-    
-    // Pattern for &x&R&R&G&G&B&B format
-    private static final Pattern HEX_LEGACY_PATTERN = Pattern.compile("&x(&[0-9A-Fa-f]){6}");
-    
     /**
      * Converts a string with color codes to a Color object.
      * Supports & codes (like &a, &c) and hex colors (like #FF0000).
@@ -122,59 +75,71 @@ public class ColorUtils {
         
         // Handle & code colors (single character after &)
         if (colorString.startsWith("&") && colorString.length() == 2) {
-            char code = colorString.charAt(1);
-            if (COLOR_CODES.containsKey(code)) {
-                return COLOR_CODES.get(code);
+            Color color = getColorForCode(colorString.charAt(1));
+            if (color != null) {
+                return color;
             }
         }
         
-        // Handle hex colors: #RRGGBB or #RGB
-        Matcher hexMatcher = HEX_PATTERN.matcher(colorString);
-        if (hexMatcher.find()) {
-            String hex = hexMatcher.group(1);
-            if (hex == null) {
-                hex = hexMatcher.group(2);
+        // Handle hex colors: &#RRGGBB, #RRGGBB or #RGB, wherever the first one appears
+        for (int i = colorString.indexOf('#'); i >= 0; i = colorString.indexOf('#', i + 1)) {
+            int digits = countHexDigits(colorString, i + 1);
+            if (digits >= 6) {
+                return new Color(Integer.parseInt(colorString, i + 1, i + 7, 16));
             }
-            if (hex == null) {
+            if (digits >= 3) {
                 // Short hex format #RGB -> #RRGGBB
-                String shortHex = hexMatcher.group(3);
-                if (shortHex != null) {
-                    hex = "" + shortHex.charAt(0) + shortHex.charAt(0) +
-                          shortHex.charAt(1) + shortHex.charAt(1) +
-                          shortHex.charAt(2) + shortHex.charAt(2);
-                }
-            }
-            if (hex != null) {
-                try {
-                    return new Color(Integer.parseInt(hex, 16));
-                } catch (NumberFormatException e) {
-                    return null;
-                }
+                int rgb = Integer.parseInt(colorString, i + 1, i + 4, 16);
+                return new Color((rgb >> 8 & 0xF) * 0x11, (rgb >> 4 & 0xF) * 0x11, (rgb & 0xF) * 0x11);
             }
         }
         
         return null;
     }
     
+    private static int countHexDigits(String text, int from) {
+        int i = from;
+        while (i < text.length() && i - from < 6 && isHexDigit(text.charAt(i))) i++;
+        return i - from;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+    
     /**
      * Checks if a character is a valid color code
      */
     public static boolean isColorCode(char code) {
-        return COLOR_CODES.containsKey(Character.toLowerCase(code));
+        return code < 128 && COLOR_BY_CODE[code] != null;
     }
     
     /**
      * Checks if a character is a valid format code
      */
     public static boolean isFormatCode(char code) {
-        return FORMAT_CODES.containsKey(Character.toLowerCase(code));
+        return code < 128 && IS_FORMAT_CODE[code];
+    }
+
+    /**
+     * Checks if a character is a color or format code
+     */
+    static boolean isLegacyCode(char code) {
+        return isColorCode(code) || isFormatCode(code);
+    }
+
+    /**
+     * Gets the name of the TinyMsg tag a legacy code converts to, or null if it has none
+     */
+    static String getTagForCode(char code) {
+        return code < 128 ? TAG_BY_CODE[code] : null;
     }
     
     /**
      * Gets the Color object for a color code character
      */
     public static Color getColorForCode(char code) {
-        return COLOR_CODES.get(Character.toLowerCase(code));
+        return code < 128 ? COLOR_BY_CODE[code] : null;
     }
     
     /**
@@ -255,38 +220,18 @@ public class ColorUtils {
             return text;
         }
 
-        StringBuilder result = new StringBuilder();
-        char[] chars = text.toCharArray();
-
-        for (int i = 0; i < chars.length; i++) {
-            if (chars[i] == '&' && i + 1 < chars.length) {
-                char code = Character.toLowerCase(chars[i + 1]);
-
-                if (CODE_TO_COLOR_NAME.containsKey(code)) {
-                    result.append("<").append(CODE_TO_COLOR_NAME.get(code)).append(">");
-                    i++; // Skip the code character
-                } else if (CODE_TO_STYLE_NAME.containsKey(code)) {
-                    String style = CODE_TO_STYLE_NAME.get(code);
-                    if (style.equals("reset")) {
-                        result.append("<reset>");
-                    } else if (style.equals("bold")) {
-                        result.append("<bold>");
-                    } else if (style.equals("underline")) {
-                        result.append("<underline>");
-                    } else if (style.equals("italic")) {
-                        result.append("<italic>");
-                    }
-                    // Skip obfuscated and strikethrough as they're not directly supported
-                    i++; // Skip the code character
-                } else {
-                    // Unknown code, keep as-is
-                    result.append(chars[i]);
-                }
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        MarkupLexer lexer = new MarkupLexer(text, true);
+        int token;
+        while ((token = lexer.next()) != MarkupLexer.END) {
+            if (token == MarkupLexer.LEGACY) {
+                // Obfuscated and strikethrough have no tag and are dropped
+                String tag = getTagForCode(lexer.code);
+                if (tag != null) result.append('<').append(tag).append('>');
             } else {
-                result.append(chars[i]);
+                result.append(text, lexer.start, lexer.end);
             }
         }
-
         return result.toString();
     }
     
@@ -300,12 +245,15 @@ public class ColorUtils {
         if (text == null || text.isEmpty()) {
             return text;
         }
-        
-        // Strip TinyMsg tags (<tag> and </tag>) - case insensitive
-        String withoutTags = text.replaceAll("(?i)<[^>]+>", "");
-        
-        // Strip legacy & color codes (e.g., &a, &l, &r) - case insensitive
-        // Matches & followed by 0-9, a-f, k, l, m, n, o, r
-        return withoutTags.replaceAll("(?i)&[0-9a-fk-or]", "");
+
+        StringBuilder result = new StringBuilder(text.length());
+        MarkupLexer lexer = new MarkupLexer(text, true);
+        int token;
+        while ((token = lexer.next()) != MarkupLexer.END) {
+            if (token == MarkupLexer.TEXT) {
+                result.append(text, lexer.start, lexer.end);
+            }
+        }
+        return result.toString();
     }
 }
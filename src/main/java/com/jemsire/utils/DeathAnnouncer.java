@@ -0,0 +1,106 @@
+package com.jemsire.utils;
+
+import com.jemsire.config.LivesConfig;
+import com.jemsire.plugin.JemLives;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends global death announcements, collapsing bursts of deaths into one digest line.
+ * A death with no other death in the last DeathDigestWindowMs is announced immediately and opens
+ * a window. Deaths inside the window are held until it closes. If at least DeathDigestThreshold
+ * were held, a single DeathDigestFormat line names them; otherwise they are announced one by one.
+ */
+public class DeathAnnouncer {
+    /** How many names a digest spells out before summarising the rest as "N others". */
+    private static final int DIGEST_NAMES = 3;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "JemLives-Announcer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private boolean windowOpen;
+    private final List<String> heldNames = new ArrayList<>();
+    private final List<String> heldAnnouncements = new ArrayList<>();
+
+    public void stop() {
+        scheduler.shutdown();
+        closeWindow();
+    }
+
+    /**
+     * Announces a death to every player, now or when the current window closes.
+     * @param playerName The name used in a digest
+     * @param announcement The player's own formatted DeathAnnouncementFormat line
+     */
+    public void announce(String playerName, String announcement) {
+        LivesConfig config = JemLives.get().getLivesConfig().get();
+        int windowMs = config.getDeathDigestWindowMs();
+        if (windowMs <= 0) {
+            ChatBroadcaster.broadcastToAll(announcement);
+            return;
+        }
+
+        synchronized (this) {
+            if (windowOpen) {
+                heldNames.add(playerName);
+                heldAnnouncements.add(announcement);
+                return;
+            }
+            windowOpen = true;
+        }
+
+        ChatBroadcaster.broadcastToAll(announcement);
+        try {
+            scheduler.schedule(this::closeWindow, windowMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Shutting down; don't hold anything back.
+            closeWindow();
+        }
+    }
+
+    private void closeWindow() {
+        List<String> names;
+        List<String> announcements;
+        synchronized (this) {
+            windowOpen = false;
+            if (heldNames.isEmpty()) return;
+            names = new ArrayList<>(heldNames);
+            announcements = new ArrayList<>(heldAnnouncements);
+            heldNames.clear();
+            heldAnnouncements.clear();
+        }
+
+        int threshold = JemLives.get().getLivesConfig().get().getDeathDigestThreshold();
+        if (names.size() < threshold) {
+            announcements.forEach(ChatBroadcaster::broadcastToAll);
+            return;
+        }
+
+        Logger.debug(() -> "Collapsed " + names.size() + " death announcements into one digest.");
+        ChatBroadcaster.broadcastToAll(JemLives.get().getLivesMessages().deathDigest(joinNames(names), names.size()));
+    }
+
+    /** "A", "A and B", "A, B and C", or "A, B, C and 27 others". */
+    private static String joinNames(List<String> names) {
+        int shown = names.size() <= DIGEST_NAMES ? names.size() : DIGEST_NAMES;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                sb.append(i == names.size() - 1 ? " and " : ", ");
+            }
+            sb.append(names.get(i));
+        }
+        int others = names.size() - shown;
+        if (others > 0) {
+            sb.append(" and ").append(others).append(others == 1 ? " other" : " others");
+        }
+        return sb.toString();
+    }
+}
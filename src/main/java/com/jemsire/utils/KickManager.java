@@ -1,22 +1,43 @@
 package com.jemsire.utils;
 
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.jemsire.plugin.JemLives;
-import java.util.Iterator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Disconnects players a short delay after they run out of lives.
+ * Pending kicks sit in a {@link DelayQueue}; a single wake-up is scheduled for the earliest
+ * deadline, so nothing runs while the queue is empty. Every kick that is due at wake-up is
+ * grouped by world and handed to that world's executor in one task, so disconnects happen on
+ * the thread that owns the player.
+ */
 public class KickManager {
-    private final Map<UUID, KickEntry> kickQueue = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static final long KICK_DELAY_MS = 1000;
 
-    public KickManager() {
-        scheduler.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
-    }
+    private final Map<UUID, KickEntry> pending = new ConcurrentHashMap<>();
+    private final DelayQueue<KickEntry> kickQueue = new DelayQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "JemLives-Kicks");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
 
     public void stop() {
         scheduler.shutdown();
@@ -25,43 +46,76 @@ public class KickManager {
     public void queueKick(PlayerRef playerRef, String reason) {
         if (playerRef == null) return;
         UUID uuid = playerRef.getUuid();
-        
+
         // Rework logic: set player lives to 0 if they are being queued for kick
         JemLives plugin = JemLives.get();
         if (plugin != null && plugin.getLivesManager() != null) {
             plugin.getLivesManager().setLives(uuid, 0);
         }
 
-        if (!kickQueue.containsKey(uuid)) {
-            Logger.debug("Queuing kick for player: " + playerRef.getUsername() + " (" + uuid + ") in 1 second.");
-            kickQueue.put(uuid, new KickEntry(playerRef, uuid, reason, System.currentTimeMillis() + 1000));
+        KickEntry entry = new KickEntry(playerRef, uuid, reason, System.currentTimeMillis() + KICK_DELAY_MS);
+        if (pending.putIfAbsent(uuid, entry) == null) {
+            Logger.debug("Queuing kick for player: {} ({}) in 1 second.", playerRef.getUsername(), uuid);
+            kickQueue.add(entry);
+            scheduleWakeUp(entry.kickTime);
+        }
+    }
+
+    /** Makes sure the dispatcher wakes up no later than {@code time}. */
+    private synchronized void scheduleWakeUp(long time) {
+        if (wakeUp != null && wakeUpAt <= time) return;
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = time;
+        wakeUp = scheduler.schedule(this::dispatch, Math.max(0, time - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch() {
+        synchronized (this) {
+            wakeUp = null;
+            wakeUpAt = Long.MAX_VALUE;
+        }
+
+        List<KickEntry> due = new ArrayList<>();
+        kickQueue.drainTo(due);
+
+        Map<UUID, List<KickEntry>> byWorld = new HashMap<>();
+        for (KickEntry entry : due) {
+            pending.remove(entry.uuid, entry);
+            byWorld.computeIfAbsent(entry.playerRef.getWorldUuid(), k -> new ArrayList<>()).add(entry);
+        }
+        byWorld.forEach(this::disconnectInWorld);
+
+        KickEntry next = kickQueue.peek();
+        if (next != null) {
+            scheduleWakeUp(next.kickTime);
         }
     }
 
-    public void tick() {
-        if (kickQueue.isEmpty()) return;
-
-        long now = System.currentTimeMillis();
-        Iterator<Map.Entry<UUID, KickEntry>> iterator = kickQueue.entrySet().iterator();
-
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, KickEntry> entry = iterator.next();
-            KickEntry kickEntry = entry.getValue();
-
-            if (now >= kickEntry.kickTime) {
-                iterator.remove();
-                try {
-                    Logger.info("Executing delayed kick for: " + kickEntry.playerRef.getUsername());
-                    kickEntry.playerRef.getPacketHandler().disconnect(kickEntry.reason);
-                } catch (Exception e) {
-                    // Player may have already disconnected; ref can be invalid. Do not spam console.
-                    Logger.debug("Skipping kick for " + kickEntry.uuid + ": " + e.getMessage());
-                }
-            }
+    private void disconnectInWorld(UUID worldUuid, List<KickEntry> entries) {
+        Universe universe = Universe.get();
+        World world = worldUuid != null && universe != null ? universe.getWorld(worldUuid) : null;
+        if (world == null) {
+            // Not in a world (e.g. still joining); nothing else owns the connection, kick directly.
+            entries.forEach(KickManager::disconnect);
+            return;
         }
+        world.execute(() -> entries.forEach(KickManager::disconnect));
     }
 
-    private static class KickEntry {
+    private static void disconnect(KickEntry kickEntry) {
+        try {
+            Logger.info("Executing delayed kick for: " + kickEntry.playerRef.getUsername());
+            kickEntry.playerRef.getPacketHandler().disconnect(kickEntry.reason);
+            Logger.event("kick", kickEntry.uuid);
+        } catch (Exception e) {
+            // Player may have already disconnected; ref can be invalid. Do not spam console.
+            Logger.debug("Skipping kick for {}: {}", kickEntry.uuid, e.getMessage());
+        }
+    }
+
+    private static class KickEntry implements Delayed {
         final PlayerRef playerRef;
         final UUID uuid;
         final String reason;
@@ -73,5 +127,15 @@ public class KickManager {
             this.reason = reason;
             this.kickTime = kickTime;
         }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(kickTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(kickTime, ((KickEntry) other).kickTime);
+        }
     }
 }
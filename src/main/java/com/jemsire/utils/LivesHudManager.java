@@ -6,21 +6,31 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.hud.HudManager;
 import com.hypixel.hytale.server.core.util.Config;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.jemsire.config.LivesConfig;
+import com.jemsire.events.LivesChangedEvent;
 import com.jemsire.ui.LivesHud;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the lives HUD for each player using native Hytale CustomUIHud.
  * Shows an always-visible HUD with the lives icon and count (see JemLives/lives_hud.ui).
+ * <p>
+ * The HUD listens for lives changes from LivesManager and renders from the event's count.
+ * Lives changes only mark a player's HUD dirty. The first change schedules one refresh on the
+ * player's world thread; further changes before it runs are absorbed, so a burst of changes
+ * in one tick becomes a single HUD packet.
  */
 public class LivesHudManager {
     private final Config<LivesConfig> livesConfig;
-    private final Map<UUID, LivesHud> activeHuds = new HashMap<>();
+    private final Map<UUID, LivesHud> activeHuds = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyHuds = ConcurrentHashMap.newKeySet();
 
     public LivesHudManager(Config<LivesConfig> livesConfig) {
         this.livesConfig = livesConfig;
@@ -45,18 +55,49 @@ public class LivesHudManager {
         LivesHud livesHud;
         if (activeHuds.containsKey(uuid)) {
             livesHud = activeHuds.get(uuid);
-            Logger.debug("HUD already exists in mapping for " + playerRef.getUsername() + ", reapplying to client.");
+            Logger.debug("HUD already exists in mapping for {}, reapplying to client.", playerRef.getUsername());
         } else {
             livesHud = new LivesHud(playerRef);
             activeHuds.put(uuid, livesHud);
         }
         
+        livesHud.setLives(lives);
         hudManager.setCustomHud(playerRef, livesHud);
-        livesHud.refresh();
+        markDirty(uuid);
     }
 
-    /** Update the lives count on the HUD (e.g. after death or regen). */
+    /** Update the lives count on the HUD (e.g. after death or regen). Safe to call from any thread. */
     public void update(UUID uuid, int lives) {
+        LivesHud hud = activeHuds.get(uuid);
+        if (hud == null) return;
+        hud.setLives(lives);
+        markDirty(uuid);
+    }
+
+    /** LivesManager listener: keeps the HUD in step with every lives change. */
+    public void onLivesChanged(LivesChangedEvent event) {
+        update(event.player(), event.newLives());
+    }
+
+    /** Schedules a refresh for the player's next world tick unless one is already pending. */
+    private void markDirty(UUID uuid) {
+        LivesHud hud = activeHuds.get(uuid);
+        if (hud == null || !dirtyHuds.add(uuid)) {
+            return;
+        }
+
+        UUID worldUuid = hud.getPlayerRef().getWorldUuid();
+        Universe universe = Universe.get();
+        World world = worldUuid != null && universe != null ? universe.getWorld(worldUuid) : null;
+        if (world == null) {
+            flush(uuid);
+            return;
+        }
+        world.execute(() -> flush(uuid));
+    }
+
+    private void flush(UUID uuid) {
+        dirtyHuds.remove(uuid);
         LivesHud hud = activeHuds.get(uuid);
         if (hud != null) {
             hud.refresh();
@@ -74,10 +115,12 @@ public class LivesHudManager {
         HudManager hudManager = player.getHudManager();
         hudManager.setCustomHud(playerRef, null);
         activeHuds.remove(playerRef.getUuid());
+        dirtyHuds.remove(playerRef.getUuid());
     }
 
     /** Remove the lives HUD mapping by UUID (for cleanup). */
     public void removeByUuid(UUID uuid) {
         activeHuds.remove(uuid);
+        dirtyHuds.remove(uuid);
     }
 }
@@ -2,155 +2,714 @@ package com.jemsire.utils;
 
 import com.jemsire.config.LivesConfig;
 import com.jemsire.config.PlayerData;
+import com.jemsire.events.LivesChangedEvent;
 import com.jemsire.plugin.JemLives;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.jemsire.storage.CorruptDataException;
+import com.jemsire.storage.JsonPlayerDataStore;
+import com.jemsire.storage.PlayerDataStore;
+import com.jemsire.storage.PlayerDataStores;
+import com.jemsire.storage.StorageMigrator;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Path;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Owns player lives. Safe to call from any thread: cached data is replaced atomically per
+ * player on every change, and reads never block.
+ */
 public class LivesManager {
+    private static final int IO_THREADS = 4;
+    /** I/O errors are retried a few times so a transient one (e.g. a busy database) doesn't refuse a player. */
+    private static final int LOAD_ATTEMPTS = 3;
+    private static final long LOAD_RETRY_MS = 50;
+
     private final Random random = new Random();
-    private final Map<UUID, PlayerData> cachedData = new HashMap<>();
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    private final File playersFolder;
+    private final PlayerDataCache cache = new PlayerDataCache();
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final File dataFolder;
+    private final Supplier<LivesConfig> config;
+    private PlayerDataStore store;
+    /** Set once shutdown begins; lives are no longer changed after that. */
+    private volatile boolean stopping;
+    private final AtomicBoolean migrating = new AtomicBoolean();
+    /** The migration started by /jemlives migrate while it runs, and every player loaded during it. */
+    private volatile StorageMigrator runningMigration;
+    private final Set<UUID> loadedDuringMigration = ConcurrentHashMap.newKeySet();
+    private final RegenTimerWheel regenWheel = new RegenTimerWheel(Instant.now().getEpochSecond());
+    private ScheduledFuture<?> regenTicker;
+    private final Map<UUID, CompletableFuture<PlayerData>> pendingLoads = new ConcurrentHashMap<>();
+    /** Death time of every player waiting to regenerate, cached or not, so connects can be refused without a load. */
+    private final Map<UUID, Long> lockouts = new ConcurrentHashMap<>();
+    private final List<LivesChangedEvent.Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<LivesChangedEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    /** Placeholder view of every cached player, replaced alongside the cached data. */
+    private final Map<UUID, LivesSnapshot> snapshots = new ConcurrentHashMap<>();
+    /** Placeholder view of locked-out players who are not cached, built from {@link #lockouts} on first read. */
+    private final Map<UUID, LivesSnapshot> lockoutSnapshots = new ConcurrentHashMap<>();
+    private final ExecutorService ioExecutor = Executors.newFixedThreadPool(IO_THREADS, r -> {
+        Thread t = new Thread(r, "JemLives-IO");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ScheduledExecutorService saveScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "JemLives-Saver");
+        t.setDaemon(true);
+        return t;
+    });
 
     public LivesManager() {
-        Path path = JemLives.get().getDataDirectory();
-        this.playersFolder = new File(path.toFile(), "players");
-        if (!this.playersFolder.exists()) {
-            this.playersFolder.mkdirs();
+        this(JemLives.get().getDataDirectory().toFile(), () -> JemLives.get().getLivesConfig().get());
+    }
+
+    /**
+     * @param config Read on every use, so a reloaded config applies at once
+     */
+    LivesManager(File dataFolder, Supplier<LivesConfig> config) {
+        this.dataFolder = dataFolder;
+        this.config = config;
+    }
+
+    /**
+     * Opens the configured store and starts the background saver. Call once the config has been loaded.
+     * @throws IOException if the store can't be opened; nothing is started in that case
+     */
+    public void start() throws IOException {
+        LivesConfig config = this.config.get();
+        start(PlayerDataStores.create(config.getStorageType(), dataFolder, config));
+    }
+
+    /** Starts on an already opened store. */
+    void start(PlayerDataStore store) {
+        LivesConfig config = this.config.get();
+        this.store = store;
+
+        // Bring legacy players/*.json data across before anyone can read from the new store.
+        StorageMigrator migrator = new StorageMigrator(dataFolder, store);
+        if (!(store instanceof JsonPlayerDataStore) && migrator.isPending()) {
+            try {
+                migrator.migrate(uuid -> false, uuid -> {}, Logger::info);
+            } catch (IOException e) {
+                Logger.severe("Failed to migrate player data", e);
+            }
+        }
+
+        // Cheap now that stores answer from an index, and done before anyone can connect.
+        buildLockoutIndex();
+
+        long interval = config.getSaveIntervalMs();
+        saveScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        saveScheduler.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background saver and loads and writes out every pending change. Call after the
+     * events and commands that change lives have been unregistered.
+     */
+    public void shutdown() {
+        stopping = true;
+        // Under the wheel's lock so syncRegenSchedule never schedules the ticker on a stopped saver.
+        synchronized (regenWheel) {
+            saveScheduler.shutdown();
+        }
+        ioExecutor.shutdown();
+        try {
+            if (!saveScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                Logger.warning("Saver did not stop in time, flushing remaining player data anyway.");
+            }
+            // An in-flight load may still cache or change a player; let it finish before the last flush.
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                Logger.warning("Player data loads did not finish in time, flushing remaining player data anyway.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (store == null) {
+            // Never started, e.g. the store failed to open; there is nothing to save.
+            return;
+        }
+        flush();
+
+        try {
+            store.close();
+        } catch (IOException e) {
+            Logger.severe("Failed to close player data store", e);
         }
     }
 
     private int generateInitialLives() {
-        LivesConfig config = JemLives.get().getLivesConfig().get();
+        LivesConfig config = this.config.get();
         int min = config.getInitialLivesMin();
         int max = config.getInitialLivesMax();
         if (min >= max) return min;
         return random.nextInt(max - min + 1) + min;
     }
 
+    /**
+     * @throws UncheckedIOException if the player is not cached and can't be loaded
+     */
     private PlayerData getPlayerData(UUID uuid) {
-        if (cachedData.containsKey(uuid)) {
-            return cachedData.get(uuid);
+        PlayerData cached = cache.get(uuid);
+        if (cached != null) {
+            return cached;
         }
 
-        File playerFile = new File(playersFolder, uuid.toString() + ".json");
-        PlayerData data;
-
-        if (playerFile.exists()) {
-            try (FileReader reader = new FileReader(playerFile)) {
-                data = gson.fromJson(reader, PlayerData.class);
-            } catch (IOException e) {
-                Logger.severe("Failed to load player data for " + uuid, e);
-                data = new PlayerData();
+        // A prefetch is already reading this player; wait for it instead of reading twice.
+        CompletableFuture<PlayerData> pending = pendingLoads.get(uuid);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
             }
-        } else {
+        }
+
+        return loadPlayerData(uuid);
+    }
+
+    /**
+     * Reads a player from the store into the cache.
+     * If the store fails, nothing is cached: the player must not be handed initial lives that
+     * the next flush would write over their real record.
+     * @throws UncheckedIOException if the store still fails after {@link #LOAD_ATTEMPTS} tries
+     */
+    private PlayerData loadPlayerData(UUID uuid) {
+        StorageMigrator migration = runningMigration;
+        if (migration != null) {
+            // Registered before reading so the migration skips this player from now on.
+            loadedDuringMigration.add(uuid);
+        }
+        PlayerData data = loadWithRetry(uuid, () -> store.load(uuid));
+        boolean created = false;
+        if (data == null && migration != null) {
+            // The migration hasn't copied this player yet; their JSON file is still current.
+            data = loadWithRetry(uuid, () -> migration.loadLegacy(uuid));
+            created = data != null;
+        }
+        if (data == null) {
             data = new PlayerData();
-            savePlayerData(uuid, data);
+            created = true;
         }
 
-        cachedData.put(uuid, data);
+        // Another thread may have loaded the same player meanwhile; keep whichever got in first.
+        PlayerData cachedNow = cache.putIfAbsent(uuid, data);
+        if (cachedNow != data) {
+            return cachedNow;
+        }
+        if (created) {
+            markDirty(uuid);
+        }
+        // Players whose regen time passed while they were not cached regenerate right away;
+        // anyone still waiting is handed to the regen wheel. Done under the cache entry's lock,
+        // like every update, so it can't overwrite the state of a later update.
+        long now = Instant.now().getEpochSecond();
+        boolean[] regenDue = {false};
+        cache.computeIfPresent(uuid, current -> {
+            snapshots.put(uuid, LivesSnapshot.of(current));
+            if (isRegenDue(current, now)) {
+                regenDue[0] = true;
+            } else {
+                syncRegenSchedule(uuid, current);
+            }
+            return current;
+        });
+        if (regenDue[0]) {
+            regenerate(uuid, now);
+            PlayerData regenerated = cache.peek(uuid);
+            return regenerated != null ? regenerated : data;
+        }
         return data;
     }
 
-    private void savePlayerData(UUID uuid, PlayerData data) {
-        File playerFile = new File(playersFolder, uuid.toString() + ".json");
-        try (FileWriter writer = new FileWriter(playerFile)) {
-            gson.toJson(data, writer);
-        } catch (IOException e) {
-            Logger.severe("Failed to save player data for " + uuid, e);
+    @FunctionalInterface
+    private interface Load {
+        PlayerData load() throws IOException;
+    }
+
+    /**
+     * Runs a load, retrying I/O errors; null means the player has never been saved. Corrupt data
+     * and other errors fail at once, since retrying them would only hold up the waiting thread.
+     */
+    private static PlayerData loadWithRetry(UUID uuid, Load load) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return load.load();
+            } catch (CorruptDataException e) {
+                Logger.severe("Player data for " + uuid + " is corrupt", e);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                Logger.severe("Failed to load player data for " + uuid, e);
+                throw new UncheckedIOException(new IOException("Could not load player data for " + uuid, e));
+            } catch (IOException e) {
+                if (attempt >= LOAD_ATTEMPTS) {
+                    Logger.severe("Failed to load player data for " + uuid + " after " + attempt + " attempts", e);
+                    throw new UncheckedIOException(new IOException("Could not load player data for " + uuid, e));
+                }
+                Logger.warning("Failed to load player data for " + uuid + ", retrying: " + e.getMessage());
+                try {
+                    Thread.sleep(LOAD_RETRY_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new IOException("Interrupted while loading player data for " + uuid, e));
+                }
+            }
         }
     }
 
-    public int getLives(UUID uuid) {
-        PlayerData data = getPlayerData(uuid);
-        
-        if (data.getLives() == 0 && data.getLastDeathTime() == 0) {
-            int lives = generateInitialLives();
-            data.setLives(lives);
-            savePlayerData(uuid, data);
-            return lives;
+    /**
+     * Starts loading a player's data on the I/O executor so it is cached by the time the
+     * player is ready. Later calls for the same player wait on this load instead of repeating it.
+     * @return a future completing with the player's current lives, or exceptionally if they can't be loaded
+     */
+    public CompletableFuture<Integer> prefetch(UUID uuid) {
+        if (cache.peek(uuid) != null) {
+            return CompletableFuture.completedFuture(getLives(uuid));
         }
 
-        checkRegen(uuid);
-        return data.getLives();
+        CompletableFuture<PlayerData> load = new CompletableFuture<>();
+        CompletableFuture<PlayerData> existing = pendingLoads.putIfAbsent(uuid, load);
+        if (existing != null) {
+            return existing.thenApply(data -> getLives(uuid));
+        }
+
+        Runnable task = () -> {
+            try {
+                load.complete(loadPlayerData(uuid));
+            } catch (Throwable t) {
+                load.completeExceptionally(t);
+            } finally {
+                pendingLoads.remove(uuid, load);
+            }
+        };
+        try {
+            ioExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; load inline so nobody is left waiting on the future.
+            task.run();
+        }
+        return load.thenApply(data -> getLives(uuid));
     }
 
-    public void setLives(UUID uuid, int lives) {
-        PlayerData data = getPlayerData(uuid);
-        data.setLives(lives);
-        savePlayerData(uuid, data);
+    /** Queues the player's cached data to be written on the next flush. */
+    private void markDirty(UUID uuid) {
+        dirtyPlayers.add(uuid);
     }
 
-    public void removeLife(UUID uuid) {
-        PlayerData data = getPlayerData(uuid);
+    /**
+     * Writes every dirty player to disk. Repeated changes to the same player since the
+     * last flush collapse into a single write.
+     */
+    public void flush() {
+        if (dirtyPlayers.isEmpty()) return;
 
-        if (data.getLives() == 0 && data.getLastDeathTime() == 0) {
-            data.setLives(generateInitialLives());
+        Map<UUID, PlayerData> batch = new HashMap<>();
+        Iterator<UUID> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext()) {
+            UUID uuid = iterator.next();
+            iterator.remove();
+            PlayerData data = cache.peek(uuid);
+            if (data != null) {
+                batch.put(uuid, data);
+            }
         }
+        saveBatch(batch);
+    }
 
-        data.setLives(data.getLives() - 1);
-        Logger.debug("Removed life from " + uuid + ". New lives count: " + data.getLives());
-        if (data.getLives() <= 0) {
-            data.setLives(0);
-            data.setLastDeathTime(Instant.now().getEpochSecond());
+    private boolean saveBatch(Map<UUID, PlayerData> batch) {
+        try {
+            store.saveAll(batch);
+            if (!batch.isEmpty()) {
+                Logger.event("save", null, "players", batch.size());
+            }
+            return true;
+        } catch (Exception e) {
+            Logger.severe("Failed to save data for " + batch.size() + " players", e);
+            // Retry on the next flush rather than losing the changes.
+            dirtyPlayers.addAll(batch.keySet());
+            return false;
         }
-        savePlayerData(uuid, data);
     }
 
-    public void addLife(UUID uuid) {
-        PlayerData data = getPlayerData(uuid);
-        
-        if (data.getLives() == 0 && data.getLastDeathTime() == 0) {
-            data.setLives(generateInitialLives());
+    /** Drops offline players from the cache once idle or over the size cap, saving them first if dirty. */
+    private void evictIdle() {
+        LivesConfig config = this.config.get();
+        evict(config.getCacheIdleMinutes() * 60_000L, config.getCacheMaxSize());
+    }
+
+    /** Evicts with the given limits instead of the configured ones. */
+    void evict(long idleMillis, int maxSize) {
+        int before = cache.size();
+        cache.evict(idleMillis, maxSize, (uuid, data) -> {
+            return !dirtyPlayers.remove(uuid) || saveBatch(Collections.singletonMap(uuid, data));
+        }, snapshots::remove);
+        int evicted = before - cache.size();
+        if (evicted > 0) {
+            Logger.debug(() -> "Evicted " + evicted + " offline players from the lives cache (" + cache.size() + " cached).");
         }
 
-        data.setLives(data.getLives() + 1);
-        Logger.debug("Added life to " + uuid + ". New lives count: " + data.getLives());
-        savePlayerData(uuid, data);
+        // Lockouts of players who aren't cached are never cleared by a regen, so expire them here.
+        long diedAfter = Instant.now().getEpochSecond() - regenTimeSeconds();
+        lockouts.values().removeIf(lastDeathTime -> lastDeathTime <= diedAfter);
+        lockoutSnapshots.keySet().removeIf(uuid -> !lockouts.containsKey(uuid));
     }
 
-    public long getRemainingRegenTime(UUID uuid) {
-        PlayerData data = getPlayerData(uuid);
+    /**
+     * Copies legacy players/*.json files into the configured store in the background.
+     * Players already in the store, cached, or loaded while it runs are left untouched; a player
+     * who joins before their file is copied is loaded from that file instead.
+     * @return a future completing with the number of players copied
+     */
+    public CompletableFuture<Integer> migrateFromJson(Consumer<String> progress) {
+        if (store instanceof JsonPlayerDataStore) {
+            return CompletableFuture.failedFuture(new IllegalStateException("StorageType is JSON; there is nothing to migrate to."));
+        }
+        if (!migrating.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("A migration is already running."));
+        }
 
-        if (data.getLives() > 0) return 0;
-        if (data.getLastDeathTime() == 0) return 0;
+        StorageMigrator migrator = new StorageMigrator(dataFolder, store);
+        runningMigration = migrator;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Players loaded once the migration started hold newer data than their file; if a
+                // batch overtook one of them, their cached copy is written again on the next flush.
+                return migrator.migrate(uuid -> cache.peek(uuid) != null || loadedDuringMigration.contains(uuid),
+                        this::markDirty, progress);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                runningMigration = null;
+                loadedDuringMigration.clear();
+                migrating.set(false);
+            }
+        }, ioExecutor);
+    }
+
+    /** Pins a player's data in the cache while they are online. */
+    public void markOnline(UUID uuid) {
+        cache.pin(uuid);
+    }
+
+    /** Unpins a player's data so it can be evicted once idle. */
+    public void markOffline(UUID uuid) {
+        cache.unpin(uuid);
+    }
+
+    /** Whether the store is open; false if start() failed, has not run yet, or shutdown has begun. */
+    public boolean isStarted() {
+        return store != null && !stopping;
+    }
+
+    public PlayerDataCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Applies a change to a player's data atomically. The cached instance is never mutated:
+     * the change is made on a copy that replaces it, so readers always see a consistent
+     * lives/lastDeathTime pair without taking a lock.
+     * <p>
+     * The snapshot, the regen wheel and the lockout index are updated under the cache entry's
+     * lock, and a lives change is queued there too, so two updates to the same player can never
+     * apply them in the opposite order to the changes themselves.
+     */
+    private PlayerData update(UUID uuid, LivesChangedEvent.Cause cause, Consumer<PlayerData> change) {
+        PlayerData updated;
+        do {
+            getPlayerData(uuid);
+            updated = cache.computeIfPresent(uuid, current -> {
+                PlayerData next = current.copy();
+                change.accept(next);
+                snapshots.put(uuid, LivesSnapshot.of(next));
+                syncRegenSchedule(uuid, next);
+                if (next.getLives() != current.getLives()) {
+                    pendingEvents.add(new LivesChangedEvent(uuid, current.getLives(), next.getLives(), cause));
+                }
+                return next;
+            });
+            // Null means the entry was evicted between loading and updating; load it again.
+        } while (updated == null);
+        markDirty(uuid);
+        deliverEvents();
+        return updated;
+    }
+
+    /**
+     * Returns the player's latest snapshot without loading, initializing, regenerating or saving
+     * anything. Players that are not cached are answered from the lockout index: a locked-out
+     * player gets a snapshot of their lockout, anyone else {@link LivesSnapshot#EMPTY}.
+     */
+    public LivesSnapshot getSnapshot(UUID uuid) {
+        LivesSnapshot snapshot = snapshots.get(uuid);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        PlayerData data = cache.peek(uuid);
+        if (data != null) {
+            // Only reached between a load caching the player and publishing their snapshot.
+            return LivesSnapshot.of(data);
+        }
+
+        Long lastDeathTime = lockouts.get(uuid);
+        if (lastDeathTime == null) {
+            return LivesSnapshot.EMPTY;
+        }
+        // Kept so repeated reads reuse one snapshot and its rendered countdown.
+        snapshot = lockoutSnapshots.get(uuid);
+        if (snapshot == null || snapshot.getLastDeathTime() != lastDeathTime) {
+            snapshot = LivesSnapshot.lockedOut(lastDeathTime);
+            lockoutSnapshots.put(uuid, snapshot);
+        }
+        return snapshot;
+    }
+
+    /** Registers a listener for lives changes. */
+    public void addListener(LivesChangedEvent.Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(LivesChangedEvent.Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Hands queued events to the listeners in the order they were queued. Only one thread
+     * delivers at a time; others just leave their events for it, so a listener never sees a
+     * player's changes out of order, even when it changes lives itself.
+     */
+    private void deliverEvents() {
+        while (!pendingEvents.isEmpty() && delivering.compareAndSet(false, true)) {
+            try {
+                LivesChangedEvent event;
+                while ((event = pendingEvents.poll()) != null) {
+                    publish(event);
+                }
+            } finally {
+                delivering.set(false);
+            }
+            // Loop in case an event was queued after the queue looked empty but before the flag was cleared.
+        }
+    }
+
+    private void publish(LivesChangedEvent event) {
+        for (LivesChangedEvent.Listener listener : listeners) {
+            try {
+                listener.onLivesChanged(event);
+            } catch (Exception e) {
+                Logger.severe("Lives listener failed for " + event.player(), e);
+            }
+        }
+    }
+
+    private static boolean isUninitialized(PlayerData data) {
+        return data.getLives() == 0 && data.getLastDeathTime() == 0;
+    }
+
+    private boolean isRegenDue(PlayerData data, long now) {
+        if (data.getLives() > 0) return false;
+        if (data.getLastDeathTime() == 0) return false;
+        return now >= regenDeadline(data);
+    }
+
+    private long regenDeadline(PlayerData data) {
+        return data.getLastDeathTime() + regenTimeSeconds();
+    }
+
+    private long regenTimeSeconds() {
+        return config.get().getRegenTimeMinutes() * 60L;
+    }
+
+    /** Keeps the regen wheel in line with a player's current data. */
+    private void syncRegenSchedule(UUID uuid, PlayerData data) {
+        synchronized (regenWheel) {
+            if (data.getLives() <= 0 && data.getLastDeathTime() > 0) {
+                lockouts.put(uuid, data.getLastDeathTime());
+                regenWheel.schedule(uuid, regenDeadline(data));
+                if (regenTicker == null && !saveScheduler.isShutdown()) {
+                    regenTicker = saveScheduler.scheduleWithFixedDelay(this::tickRegen, 1, 1, TimeUnit.SECONDS);
+                }
+            } else {
+                lockouts.remove(uuid);
+                regenWheel.cancel(uuid);
+            }
+        }
+    }
+
+    /**
+     * Fills the lockout index from the store. Cached players are skipped; their entries are
+     * kept current by {@link #syncRegenSchedule}.
+     */
+    private void buildLockoutIndex() {
+        long start = System.currentTimeMillis();
+        long diedAfter = Instant.now().getEpochSecond() - regenTimeSeconds();
+        try {
+            // Only players still inside their regen window; anyone past it is no longer locked out.
+            for (Map.Entry<UUID, Long> entry : store.loadLockouts(diedAfter).entrySet()) {
+                if (cache.peek(entry.getKey()) == null) {
+                    lockouts.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+            Logger.debug(() -> "Indexed " + lockouts.size() + " locked-out players in " + (System.currentTimeMillis() - start) + "ms.");
+        } catch (Exception e) {
+            Logger.severe("Failed to build the lockout index", e);
+        }
+    }
+
+    /**
+     * Seconds until a locked-out player regenerates, read from the lockout index only.
+     * Returns 0 for anyone not locked out, without loading their data.
+     */
+    public long getLockoutRemaining(UUID uuid) {
+        Long lastDeathTime = lockouts.get(uuid);
+        if (lastDeathTime == null) return 0;
+
+        return Math.max(0, lastDeathTime + regenTimeSeconds() - Instant.now().getEpochSecond());
+    }
 
-        LivesConfig livesConfig = JemLives.get().getLivesConfig().get();
+    /** Fires every regen deadline that has passed. Only scheduled while someone is waiting to regenerate. */
+    private void tickRegen() {
         long now = Instant.now().getEpochSecond();
-        long diff = now - data.getLastDeathTime();
-        long regenTimeSeconds = livesConfig.getRegenTimeMinutes() * 60L;
+        List<UUID> due;
+        synchronized (regenWheel) {
+            due = regenWheel.advance(now);
+            if (regenWheel.isEmpty() && regenTicker != null) {
+                regenTicker.cancel(false);
+                regenTicker = null;
+            }
+        }
+        for (UUID uuid : due) {
+            try {
+                regenerate(uuid, now);
+            } catch (Exception e) {
+                Logger.severe("Failed to regenerate lives for " + uuid, e);
+            }
+        }
+    }
+
+    /** Restores a player's lives if their regen time has passed; listeners refresh the HUD and notify them. */
+    private void regenerate(UUID uuid, long now) {
+        boolean[] regenerated = {false};
+        PlayerData data = update(uuid, LivesChangedEvent.Cause.REGEN, d -> {
+            if (isRegenDue(d, now)) {
+                d.setLives(generateInitialLives());
+                d.setLastDeathTime(0);
+                regenerated[0] = true;
+            }
+        });
+        if (regenerated[0]) {
+            Logger.debug("Player {} has regenerated {} lives.", uuid, data.getLives());
+            Logger.event("regen", uuid, "lives", data.getLives());
+        }
+    }
+
+    /** Recomputes every pending regen deadline, e.g. after RegenTimeMinutes changed. */
+    public void rescheduleRegen() {
+        List<UUID> scheduled;
+        synchronized (regenWheel) {
+            scheduled = regenWheel.scheduledPlayers();
+        }
+        for (UUID uuid : scheduled) {
+            try {
+                getPlayerData(uuid);
+                // Under the entry's lock, like every update, so it can't undo a newer change.
+                cache.computeIfPresent(uuid, current -> {
+                    syncRegenSchedule(uuid, current);
+                    return current;
+                });
+            } catch (UncheckedIOException e) {
+                // Keeps the old deadline; the player is rescheduled when next loaded.
+            }
+        }
+    }
+
+    /**
+     * Returns a player's lives, assigning initial lives on first use. Regeneration is driven by
+     * the regen wheel, so this never has to check the clock.
+     * <p>
+     * This and the other lives methods throw {@link UncheckedIOException} if the player isn't
+     * cached and their data can't be loaded; their lives are left untouched in that case.
+     */
+    public int getLives(UUID uuid) {
+        PlayerData data = getPlayerData(uuid);
+        if (!isUninitialized(data)) {
+            return data.getLives();
+        }
 
-        return Math.max(0, regenTimeSeconds - diff);
+        // Re-check inside the update so concurrent callers initialize only once.
+        return update(uuid, LivesChangedEvent.Cause.INITIAL, d -> {
+            if (isUninitialized(d)) {
+                d.setLives(generateInitialLives());
+            }
+        }).getLives();
+    }
+
+    public void setLives(UUID uuid, int lives) {
+        update(uuid, LivesChangedEvent.Cause.SET, d -> d.setLives(lives));
+    }
+
+    public void removeLife(UUID uuid) {
+        PlayerData data = update(uuid, LivesChangedEvent.Cause.DEATH, d -> {
+            if (isUninitialized(d)) {
+                d.setLives(generateInitialLives());
+            }
+
+            d.setLives(d.getLives() - 1);
+            if (d.getLives() <= 0) {
+                d.setLives(0);
+                d.setLastDeathTime(Instant.now().getEpochSecond());
+            }
+        });
+        Logger.debug("Removed life from {}. New lives count: {}", uuid, data.getLives());
     }
 
-    private void checkRegen(UUID uuid) {
+    public void addLife(UUID uuid) {
+        PlayerData data = update(uuid, LivesChangedEvent.Cause.ADD, d -> {
+            if (isUninitialized(d)) {
+                d.setLives(generateInitialLives());
+            }
+
+            d.setLives(d.getLives() + 1);
+        });
+        Logger.debug("Added life to {}. New lives count: {}", uuid, data.getLives());
+    }
+
+    public long getRemainingRegenTime(UUID uuid) {
         PlayerData data = getPlayerData(uuid);
 
-        if (data.getLives() > 0) return;
-        if (data.getLastDeathTime() == 0) return;
+        if (data.getLives() > 0) return 0;
+        if (data.getLastDeathTime() == 0) return 0;
 
-        LivesConfig livesConfig = JemLives.get().getLivesConfig().get();
         long now = Instant.now().getEpochSecond();
         long diff = now - data.getLastDeathTime();
-        long regenTimeSeconds = livesConfig.getRegenTimeMinutes() * 60L;
 
-        if (diff >= regenTimeSeconds) {
-            int newLives = generateInitialLives();
-            data.setLives(newLives);
-            data.setLastDeathTime(0);
-            Logger.debug("Player " + uuid + " has regenerated " + newLives + " lives.");
-            savePlayerData(uuid, data);
-        }
+        return Math.max(0, regenTimeSeconds() - diff);
     }
 }
@@ -0,0 +1,74 @@
+package com.jemsire.utils;
+
+import com.jemsire.config.PlayerData;
+
+/**
+ * Read-only view of a player's lives, used to serve placeholders.
+ * LivesManager replaces a player's snapshot whenever their data changes; readers only follow the
+ * reference, so a read takes no lock, does no I/O and never changes player data. Text forms are
+ * built when the snapshot is made (or at most once per second for the regen countdown) so
+ * repeated reads don't allocate.
+ */
+public final class LivesSnapshot {
+    /** Served for players that are neither cached nor locked out. */
+    public static final LivesSnapshot EMPTY = new LivesSnapshot(0, 0);
+
+    private final int lives;
+    private final long lastDeathTime;
+    private final String livesText;
+    private volatile RegenText regenText;
+
+    /** The last rendered countdown and the remaining seconds it was rendered for. */
+    private record RegenText(long remaining, String text) {}
+
+    private LivesSnapshot(int lives, long lastDeathTime) {
+        this.lives = lives;
+        this.lastDeathTime = lastDeathTime;
+        this.livesText = Integer.toString(lives);
+    }
+
+    static LivesSnapshot of(PlayerData data) {
+        return new LivesSnapshot(data.getLives(), data.getLastDeathTime());
+    }
+
+    /** A player known only from the lockout index: no lives left since {@code lastDeathTime}. */
+    static LivesSnapshot lockedOut(long lastDeathTime) {
+        return new LivesSnapshot(0, lastDeathTime);
+    }
+
+    long getLastDeathTime() {
+        return lastDeathTime;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public String getLivesText() {
+        return livesText;
+    }
+
+    /**
+     * Seconds until this player's lives regenerate, or 0 if they are not waiting to.
+     * @param regenTimeSeconds The configured regen time, read by the caller so reloads apply at once
+     */
+    public long getRegenRemaining(long now, long regenTimeSeconds) {
+        if (lives > 0 || lastDeathTime == 0) return 0;
+        return Math.max(0, lastDeathTime + regenTimeSeconds - now);
+    }
+
+    public boolean isLockedOut(long now, long regenTimeSeconds) {
+        return getRegenRemaining(now, regenTimeSeconds) > 0;
+    }
+
+    /** The regen countdown formatted like the kick message's {time}, e.g. "1h 4m 12s". */
+    public String getRegenRemainingText(long now, long regenTimeSeconds) {
+        long remaining = getRegenRemaining(now, regenTimeSeconds);
+        RegenText cached = regenText;
+        if (cached == null || cached.remaining() != remaining) {
+            cached = new RegenText(remaining, TimeUtils.formatTime(remaining));
+            regenText = cached;
+        }
+        return cached.text();
+    }
+}
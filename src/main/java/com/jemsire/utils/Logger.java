@@ -3,14 +3,22 @@ package com.jemsire.utils;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.jemsire.plugin.JemLives;
 
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
  * Structured logging utility for JemLives plugin
- * Provides consistent logging with proper error handling
+ * Provides consistent logging with proper error handling.
+ * Output is written by a background thread (see {@link AsyncLogSink}), so logging never blocks the caller.
  */
 public class Logger {
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
+
     private static HytaleLogger logger;
+    /** Lowest {@link Level#intValue()} that is logged, cached from LogLevel. */
+    private static volatile int minLevel = UNRESOLVED;
+    private static final AsyncLogSink sink = new AsyncLogSink();
 
     private Logger() {
         throw new UnsupportedOperationException("Utility class");
@@ -19,7 +27,7 @@ public class Logger {
     /**
      * Gets the logger instance, initializing if necessary
      */
-    private static HytaleLogger getLogger() {
+    static HytaleLogger getHytaleLogger() {
         if (logger == null) {
             JemLives plugin = JemLives.get();
             if (plugin != null) {
@@ -35,45 +43,71 @@ public class Logger {
      * @param level The log level
      */
     public static void log(String message, Level level) {
-        if (shouldLog(level)) {
+        if (!isEnabled(level)) {
             return;
         }
 
-        HytaleLogger loggerInstance = getLogger();
-        if (loggerInstance != null) {
-            loggerInstance.at(level).log(message);
-        } else {
-            // Fallback to system out if logger not available
-            System.out.println("[" + level + "] " + message);
+        write(message, level);
+    }
+
+    private static void write(String message, Level level) {
+        write(new AsyncLogSink.Entry(level, message, null));
+    }
+
+    private static void write(AsyncLogSink.Entry entry) {
+        if (!sink.offer(entry)) {
+            // Sink already shut down; write on this thread instead
+            AsyncLogSink.write(entry);
         }
     }
 
     /**
-     * Determines if a message should be logged based on the configured log level
+     * Re-reads LogLevel and EventLogEnabled from the config. Called on start and on reload.
+     * @return the new minimum level value
      */
-    private static boolean shouldLog(Level level) {
+    public static int refreshLevel() {
         JemLives plugin = JemLives.get();
         if (plugin == null) {
-            return false; // Log everything if plugin not yet available
+            return Level.FINEST.intValue(); // Log everything if plugin not yet available
         }
 
         String configuredLevel = "INFO";
         try {
             configuredLevel = plugin.getLivesConfig().get().getLogLevel().toUpperCase();
+            sink.setEventLogEnabled(plugin.getLivesConfig().get().isEventLogEnabled());
         } catch (Exception e) {
             // Use default if config not available
         }
 
-        if (configuredLevel.equals("NONE")) {
-            return level.intValue() < Level.SEVERE.intValue(); // Always log errors
-        }
+        int level = switch (configuredLevel) {
+            case "DEBUG" -> Level.FINEST.intValue();
+            case "WARN", "WARNING" -> Level.WARNING.intValue();
+            case "SEVERE", "NONE" -> Level.SEVERE.intValue(); // Always log errors
+            default -> Level.INFO.intValue();
+        };
+        minLevel = level;
+        return level;
+    }
+
+    /** Overrides the configured level until the next {@link #refreshLevel()}, e.g. in tests run without the plugin. */
+    static void setLevel(Level level) {
+        minLevel = level.intValue();
+    }
 
-        if (configuredLevel.equals("DEBUG")) {
-            return false; // Log everything
+    /**
+     * Determines if a message should be logged based on the configured log level.
+     * One int compare once the level has been read.
+     */
+    private static boolean isEnabled(Level level) {
+        int min = minLevel;
+        if (min == UNRESOLVED) {
+            min = refreshLevel();
         }
+        return level.intValue() >= min;
+    }
 
-        // Default: INFO
-        return level.intValue() < Level.INFO.intValue();
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.FINE);
     }
 
     /**
@@ -90,6 +124,51 @@ public class Logger {
         log(message, Level.FINE);
     }
 
+    /**
+     * Logs a debug message built only if debug logging is enabled
+     */
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(Level.FINE)) {
+            write(message.get(), Level.FINE);
+        }
+    }
+
+    /**
+     * Logs a debug message, filling each {} in the pattern with the next argument
+     */
+    public static void debug(String pattern, Object arg) {
+        if (isEnabled(Level.FINE)) {
+            write(format(pattern, arg, null, null, 1), Level.FINE);
+        }
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.FINE)) {
+            write(format(pattern, arg1, arg2, null, 2), Level.FINE);
+        }
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.FINE)) {
+            write(format(pattern, arg1, arg2, arg3, 3), Level.FINE);
+        }
+    }
+
+    private static String format(String pattern, Object arg1, Object arg2, Object arg3, int count) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 32);
+        int argIndex = 0;
+        int from = 0;
+        int slot;
+        while (argIndex < count && (slot = pattern.indexOf("{}", from)) >= 0) {
+            sb.append(pattern, from, slot);
+            sb.append(argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3);
+            argIndex++;
+            from = slot + 2;
+        }
+        sb.append(pattern, from, pattern.length());
+        return sb.toString();
+    }
+
     /**
      * Logs a warning message
      */
@@ -108,18 +187,39 @@ public class Logger {
      * Logs a severe/error message with exception
      */
     public static void severe(String message, Throwable throwable) {
-        if (shouldLog(Level.SEVERE)) {
+        if (!isEnabled(Level.SEVERE)) {
             return;
         }
 
-        HytaleLogger loggerInstance = getLogger();
-        if (loggerInstance != null) {
-            loggerInstance.at(Level.SEVERE).log(message + ": " + throwable.getMessage());
-            // We still use printStackTrace for detailed debugging in console if needed
-            throwable.printStackTrace();
-        } else {
-            System.err.println("[SEVERE] " + message + ": " + throwable.getMessage());
-            throwable.printStackTrace();
+        // The stack trace is printed by the writer thread
+        write(new AsyncLogSink.Entry(Level.SEVERE, message, throwable));
+    }
+
+    /**
+     * Records a structured event (death, regen, kick, save) in the event log, if enabled
+     */
+    public static void event(String event, UUID player) {
+        event(event, player, null, null);
+    }
+
+    /**
+     * Records a structured event with one extra field in the event log, if enabled
+     */
+    public static void event(String event, UUID player, String key, Object value) {
+        if (sink.isEventLogEnabled()) {
+            write(new AsyncLogSink.Entry(event, player, key, value));
         }
     }
+
+    /** Log entries dropped because the buffer was full. */
+    public static long getDroppedCount() {
+        return sink.getDropped();
+    }
+
+    /**
+     * Writes out everything still queued. Call last on shutdown.
+     */
+    public static void shutdown() {
+        sink.shutdown();
+    }
 }
@@ -0,0 +1,135 @@
+package com.jemsire.utils;
+
+/**
+ * Single-pass tokenizer for message markup, shared by {@link TinyMsg} and {@link ColorUtils}.
+ * Recognises TinyMsg tags ({@code <tag>}, {@code <tag:arg>}, {@code </tag>}) and, optionally,
+ * legacy {@code &} codes, and returns the plain text between them. Scans characters directly;
+ * no regex and no allocation beyond the tag name and argument strings.
+ * <p>
+ * Usage: call {@link #next()} until it returns {@link #END}, reading the token fields after each call.
+ */
+final class MarkupLexer {
+    static final int END = 0;
+    static final int TEXT = 1;
+    static final int TAG = 2;
+    static final int LEGACY = 3;
+
+    private final String text;
+    private final boolean legacyCodes;
+    private int pos;
+
+    // Pending markup found while scanning a text token, returned by the following call.
+    private int markupStart = -1;
+    private int markupEnd;
+
+    /** Span of the current token in the source text. */
+    int start;
+    int end;
+    /** For TAG: whether it is a closing tag. */
+    boolean closing;
+    /** For TAG: the tag name as written. For LEGACY: the code character, lower case. */
+    String name;
+    char code;
+    /** For TAG: the text after the colon, or null. */
+    String arg;
+
+    MarkupLexer(String text, boolean legacyCodes) {
+        this.text = text;
+        this.legacyCodes = legacyCodes;
+    }
+
+    /** Advances to the next token and returns its kind. */
+    int next() {
+        if (markupStart >= 0) {
+            return emitMarkup();
+        }
+        if (pos >= text.length()) {
+            return END;
+        }
+
+        int textStart = pos;
+        int i = pos;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int markup = c == '<' ? matchTag(i) : (c == '&' && legacyCodes ? matchLegacy(i) : -1);
+            if (markup >= 0) {
+                if (i > textStart) {
+                    markupStart = i;
+                    markupEnd = markup;
+                    start = textStart;
+                    end = i;
+                    pos = markup;
+                    return TEXT;
+                }
+                markupStart = i;
+                markupEnd = markup;
+                pos = markup;
+                return emitMarkup();
+            }
+            i++;
+        }
+
+        start = textStart;
+        end = text.length();
+        pos = end;
+        return TEXT;
+    }
+
+    private int emitMarkup() {
+        start = markupStart;
+        end = markupEnd;
+        markupStart = -1;
+        if (text.charAt(start) == '&') {
+            code = Character.toLowerCase(text.charAt(start + 1));
+            return LEGACY;
+        }
+
+        int nameStart = start + 1;
+        closing = text.charAt(nameStart) == '/';
+        if (closing) nameStart++;
+        int nameEnd = nameStart;
+        while (isNameChar(text.charAt(nameEnd))) nameEnd++;
+        name = text.substring(nameStart, nameEnd);
+        arg = text.charAt(nameEnd) == ':' ? text.substring(nameEnd + 1, end - 1) : null;
+        return TAG;
+    }
+
+    /** Returns the index just past a tag starting at {@code i}, or -1 if there is no tag there. */
+    private int matchTag(int i) {
+        int j = i + 1;
+        int length = text.length();
+        if (j < length && text.charAt(j) == '/') j++;
+
+        int nameStart = j;
+        while (j < length && isNameChar(text.charAt(j))) j++;
+        if (j == nameStart || j >= length) return -1;
+
+        if (text.charAt(j) == ':') {
+            int argStart = ++j;
+            while (j < length && text.charAt(j) != '>') j++;
+            if (j == argStart || j >= length) return -1;
+        }
+        return text.charAt(j) == '>' ? j + 1 : -1;
+    }
+
+    private int matchLegacy(int i) {
+        return i + 1 < text.length() && ColorUtils.isLegacyCode(text.charAt(i + 1)) ? i + 2 : -1;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /** Whether the text contains at least one tag. */
+    static boolean containsTag(String text) {
+        // Same as the "<[^>]+>" check it replaces: a '<' with non-empty content before the next '>'.
+        int i = text.indexOf('<');
+        while (i >= 0) {
+            int close = text.indexOf('>', i + 1);
+            if (close < 0) return false;
+            if (close > i + 1) return true;
+            i = text.indexOf('<', i + 1);
+        }
+        return false;
+    }
+}
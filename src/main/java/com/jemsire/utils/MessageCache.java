@@ -0,0 +1,88 @@
+package com.jemsire.utils;
+
+import com.hypixel.hytale.server.core.Message;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of {@link TinyMsg#format} results, keyed by the final message text.
+ * Most chat lines repeat exactly (the same template with the same player and lives count),
+ * so the parse is usually skipped. The least recently used entries are dropped past
+ * {@link #MAX_ENTRIES}; everything is cleared on reload.
+ * <p>
+ * Cached messages are shared between sends and must not be modified by callers.
+ */
+public class MessageCache {
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<String, Message> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Message> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder parseNanos = new LongAdder();
+
+    /**
+     * Returns the formatted message for the text, parsing it only if it isn't cached.
+     * @param message The message string with formatting
+     * @return The formatted Message, shared with other callers
+     */
+    public static Message format(String message) {
+        if (message == null || message.isEmpty()) {
+            return TinyMsg.format(message);
+        }
+
+        Message cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(message);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        Message parsed = TinyMsg.format(message);
+        parseNanos.add(System.nanoTime() - start);
+
+        synchronized (CACHE) {
+            // If another thread parsed the same text meanwhile, keep the first result.
+            Message existing = CACHE.putIfAbsent(message, parsed);
+            return existing != null ? existing : parsed;
+        }
+    }
+
+    /** Drops every cached message, e.g. after the config was reloaded. */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /** Average time spent parsing on a miss, in microseconds. */
+    public static long getAverageParseMicros() {
+        long parses = misses.sum();
+        return parses > 0 ? parseNanos.sum() / parses / 1000 : 0;
+    }
+}
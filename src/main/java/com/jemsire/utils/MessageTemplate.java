@@ -0,0 +1,156 @@
+package com.jemsire.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A placeholder template compiled once into alternating literal and slot segments.
+ * Slots are bound by position to the parameter names given at compile time, so rendering is a
+ * single pass of appends with no scanning or lookups. Placeholders that are not parameters stay
+ * in the output as written, as do slots whose argument is null.
+ * <p>
+ * The typed render overloads take their arguments directly, so apart from the returned string a
+ * render allocates nothing: no varargs array and no boxed numbers.
+ */
+public final class MessageTemplate {
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    /** literals[i] is written before slot i; the final literal follows the last slot. */
+    private final String[] literals;
+    /** Parameter index bound to each slot. */
+    private final int[] slots;
+    private final String[] slotNames;
+
+    private MessageTemplate(String[] literals, int[] slots, String[] slotNames) {
+        this.literals = literals;
+        this.slots = slots;
+        this.slotNames = slotNames;
+    }
+
+    /**
+     * Compiles a template with placeholders like {player}.
+     * @param template The raw template text; null is treated as empty
+     * @param parameters Placeholder names, in the order arguments are passed to {@link #render}
+     */
+    public static MessageTemplate compile(String template, String... parameters) {
+        String text = template != null ? template : "";
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            int open = text.indexOf('{', i);
+            int close = open < 0 ? -1 : text.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(text, i, text.length());
+                break;
+            }
+
+            literal.append(text, i, open);
+            int parameter = indexOf(parameters, text.substring(open + 1, close));
+            if (parameter < 0 || close == open + 1) {
+                // Not one of ours; keep it as plain text.
+                literal.append(text, open, close + 1);
+            } else {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(parameter);
+            }
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        String[] names = new String[slots.size()];
+        for (int s = 0; s < slotArray.length; s++) {
+            slotArray[s] = slots.get(s);
+            names[s] = "{" + parameters[slotArray[s]] + "}";
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), slotArray, names);
+    }
+
+    private static int indexOf(String[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /** Renders a template compiled with two parameters, the second a number. */
+    public String render(String arg0, int arg1) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        for (int s = 0; s < slots.length; s++) {
+            sb.append(literals[s]);
+            switch (slots[s]) {
+                case 0 -> appendString(sb, s, arg0);
+                case 1 -> sb.append(arg1);
+                default -> sb.append(slotNames[s]);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+
+    /** Renders a template compiled with six parameters, the fifth a number. */
+    public String render(String arg0, String arg1, String arg2, String arg3, int arg4, String arg5) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        for (int s = 0; s < slots.length; s++) {
+            sb.append(literals[s]);
+            switch (slots[s]) {
+                case 0 -> appendString(sb, s, arg0);
+                case 1 -> appendString(sb, s, arg1);
+                case 2 -> appendString(sb, s, arg2);
+                case 3 -> appendString(sb, s, arg3);
+                case 4 -> sb.append(arg4);
+                case 5 -> appendString(sb, s, arg5);
+                default -> sb.append(slotNames[s]);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+
+    private void appendString(StringBuilder sb, int slot, String arg) {
+        sb.append(arg != null ? arg : slotNames[slot]);
+    }
+
+    /**
+     * Renders the template with any arguments. Allocates an array per call and boxes numbers;
+     * prefer a typed overload where one fits.
+     * @param args One argument per compile-time parameter, in the same order
+     */
+    public String render(Object... args) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        for (int s = 0; s < slots.length; s++) {
+            sb.append(literals[s]);
+            Object arg = slots[s] < args.length ? args[slots[s]] : null;
+            if (arg == null) {
+                sb.append(slotNames[s]);
+            } else if (arg instanceof Integer) {
+                sb.append((int) (Integer) arg);
+            } else if (arg instanceof Long) {
+                sb.append((long) (Long) arg);
+            } else {
+                sb.append(arg);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.jemsire.utils;
+
+import com.jemsire.config.PlayerData;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded in-memory cache of player data.
+ * Online players are pinned and never evicted. Offline players expire once they have been idle
+ * for longer than the configured time, and the least recently used ones are evicted whenever the
+ * cache grows past its size cap.
+ */
+public class PlayerDataCache {
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<UUID> pinned = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry {
+        volatile PlayerData data;
+        volatile long lastAccess;
+
+        Entry(PlayerData data) {
+            this.data = data;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /** Returns the cached data and counts a hit or miss. */
+    public PlayerData get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.data;
+    }
+
+    /** Returns the cached data without touching statistics or access time. */
+    public PlayerData peek(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry != null ? entry.data : null;
+    }
+
+    /** Caches freshly loaded data unless another thread got there first; returns the winner. */
+    public PlayerData putIfAbsent(UUID uuid, PlayerData data) {
+        Entry existing = entries.putIfAbsent(uuid, new Entry(data));
+        return existing != null ? existing.data : data;
+    }
+
+    /**
+     * Atomically replaces the cached data with the result of the given function.
+     * @return the new data, or null if the player is not cached (e.g. evicted concurrently)
+     */
+    public PlayerData computeIfPresent(UUID uuid, UnaryOperator<PlayerData> function) {
+        Entry entry = entries.computeIfPresent(uuid, (key, current) -> {
+            current.data = function.apply(current.data);
+            current.lastAccess = System.currentTimeMillis();
+            return current;
+        });
+        return entry != null ? entry.data : null;
+    }
+
+    /** Marks a player as online so they are never evicted. */
+    public void pin(UUID uuid) {
+        pinned.add(uuid);
+    }
+
+    /** Marks a player as offline; their entry starts aging from now. */
+    public void unpin(UUID uuid) {
+        pinned.remove(uuid);
+        Entry entry = entries.get(uuid);
+        if (entry != null) {
+            entry.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Evicts offline players that have been idle for at least {@code idleMillis}, then the least
+     * recently used offline players until at most {@code maxSize} entries remain.
+     * {@code beforeEvict} is called with each candidate's data first so dirty entries can be saved,
+     * and returns false to keep the entry. An entry that changes while it is being saved is kept.
+     * {@code onEvicted} is called only for entries actually removed, while the removal holds the
+     * entry's lock, so a reload of the same player can't run before it.
+     */
+    public void evict(long idleMillis, int maxSize, BiPredicate<UUID, PlayerData> beforeEvict, Consumer<UUID> onEvicted) {
+        long now = System.currentTimeMillis();
+        List<Candidate> candidates = new ArrayList<>();
+
+        for (Map.Entry<UUID, Entry> e : entries.entrySet()) {
+            if (pinned.contains(e.getKey())) continue;
+            long lastAccess = e.getValue().lastAccess;
+            if (now - lastAccess >= idleMillis) {
+                tryEvict(e.getKey(), e.getValue().data, beforeEvict, onEvicted);
+            } else {
+                candidates.add(new Candidate(e.getKey(), e.getValue().data, lastAccess));
+            }
+        }
+
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) return;
+
+        // Sort on the access time captured above; live entries may be touched while sorting.
+        candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+        for (int i = 0; i < candidates.size() && excess > 0; i++) {
+            Candidate c = candidates.get(i);
+            if (tryEvict(c.uuid(), c.data(), beforeEvict, onEvicted)) {
+                excess--;
+            }
+        }
+    }
+
+    private record Candidate(UUID uuid, PlayerData data, long lastAccess) {}
+
+    private boolean tryEvict(UUID uuid, PlayerData data, BiPredicate<UUID, PlayerData> beforeEvict, Consumer<UUID> onEvicted) {
+        if (!beforeEvict.test(uuid, data)) {
+            return false;
+        }
+        boolean[] removed = {false};
+        entries.computeIfPresent(uuid, (key, current) -> {
+            if (current.data != data || pinned.contains(key)) {
+                return current;
+            }
+            removed[0] = true;
+            onEvicted.accept(key);
+            return null;
+        });
+        if (removed[0]) {
+            evictions.increment();
+        }
+        return removed[0];
+    }
+
+    public int size() { return entries.size(); }
+    public int pinnedCount() { return pinned.size(); }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+}
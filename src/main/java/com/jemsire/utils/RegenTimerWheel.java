@@ -0,0 +1,122 @@
+package com.jemsire.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel of life regeneration deadlines, one-second resolution.
+ * Each deadline hashes into one of {@link #SLOTS} buckets; every tick only the buckets that
+ * have come due are visited. Scheduling, cancelling and expiring are all O(1) per player.
+ * <p>
+ * Not thread-safe; LivesManager guards it.
+ */
+public class RegenTimerWheel {
+    /** Power of two; one revolution covers a little over an hour. */
+    private static final int SLOTS = 4096;
+    private static final int MASK = SLOTS - 1;
+
+    private final Node[] buckets = new Node[SLOTS];
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private long currentTick;
+
+    private static final class Node {
+        final UUID uuid;
+        final long deadline;
+        Node prev;
+        Node next;
+        int bucket;
+
+        Node(UUID uuid, long deadline) {
+            this.uuid = uuid;
+            this.deadline = deadline;
+        }
+    }
+
+    /** @param now current epoch second; nothing at or before it will be returned by {@link #advance} twice */
+    public RegenTimerWheel(long now) {
+        this.currentTick = now;
+    }
+
+    /** Schedules (or reschedules) a player's regen at the given epoch second. */
+    public void schedule(UUID uuid, long deadline) {
+        cancel(uuid);
+        Node node = new Node(uuid, deadline);
+        // Deadlines already in the past land in the next bucket to be visited.
+        node.bucket = (int) (Math.max(deadline, currentTick + 1) & MASK);
+        link(node);
+        nodes.put(uuid, node);
+    }
+
+    public void cancel(UUID uuid) {
+        Node node = nodes.remove(uuid);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /** Returns the scheduled players, e.g. to recompute deadlines after a config change. */
+    public List<UUID> scheduledPlayers() {
+        return new ArrayList<>(nodes.keySet());
+    }
+
+    /**
+     * Moves the wheel forward to {@code now} and removes every player whose deadline has passed.
+     * Entries in a visited bucket whose deadline is a later revolution stay where they are.
+     */
+    public List<UUID> advance(long now) {
+        List<UUID> expired = new ArrayList<>();
+        if (now <= currentTick) {
+            return expired;
+        }
+
+        // After a long stall every bucket is visited once, which covers all entries.
+        long ticks = Math.min(now - currentTick, SLOTS);
+        for (long t = now - ticks + 1; t <= now; t++) {
+            Node node = buckets[(int) (t & MASK)];
+            while (node != null) {
+                Node next = node.next;
+                if (node.deadline <= now) {
+                    unlink(node);
+                    nodes.remove(node.uuid);
+                    expired.add(node.uuid);
+                }
+                node = next;
+            }
+        }
+        currentTick = now;
+        return expired;
+    }
+
+    private void link(Node node) {
+        Node head = buckets[node.bucket];
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        buckets[node.bucket] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+}
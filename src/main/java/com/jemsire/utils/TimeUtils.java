@@ -0,0 +1,24 @@
+package com.jemsire.utils;
+
+/**
+ * Utility class for formatting durations in messages.
+ */
+public class TimeUtils {
+
+    /**
+     * Formats a duration the way the {time} placeholder shows it, e.g. "1h 4m 12s" or "30s".
+     * @param seconds The duration in seconds
+     * @return The formatted duration
+     */
+    public static String formatTime(long seconds) {
+        long hours = seconds / 3600;
+        long minutes = (seconds % 3600) / 60;
+        long secs = seconds % 60;
+
+        StringBuilder sb = new StringBuilder();
+        if (hours > 0) sb.append(hours).append("h ");
+        if (minutes > 0) sb.append(minutes).append("m ");
+        sb.append(secs).append("s");
+        return sb.toString();
+    }
+}
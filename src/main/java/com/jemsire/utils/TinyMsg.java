@@ -8,8 +8,8 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TinyMsg - Advanced message formatting parser for Hytale.
@@ -22,8 +22,14 @@ import java.util.regex.Pattern;
  *   TinyMsg.format("&aHello &cWorld") // Legacy codes supported via format()
  */
 public class TinyMsg {
-    // Matches <tag>, <tag:arg>, </tag>
-    private static final Pattern TAG_PATTERN = Pattern.compile("<(/?)([a-zA-Z0-9_]+)(?::([^>]+))?>");
+
+    /** A gradient is split into at most this many equal bands of one colour each, so it renders as at most this many segments. */
+    private static final int MAX_GRADIENT_BANDS = 12;
+    private static final int MAX_GRADIENT_RAMPS = 256;
+    private static final Map<GradientKey, int[]> GRADIENT_RAMPS = new ConcurrentHashMap<>();
+
+    private record GradientKey(List<Color> stops, int length) {
+    }
 
     private record StyleState(
             Color color,
@@ -92,6 +98,14 @@ public class TinyMsg {
             return Message.raw(text);
         }
 
+        return parse(text, false);
+    }
+
+    /**
+     * Builds the message in one pass over the lexer's tokens.
+     * @param legacyCodes whether legacy & codes are applied as well as tags
+     */
+    private static Message parse(String text, boolean legacyCodes) {
         Message root = Message.empty();
 
         // Stack keeps track of nested styles.
@@ -99,102 +113,98 @@ public class TinyMsg {
         Deque<StyleState> stateStack = new ArrayDeque<>();
         stateStack.push(new StyleState()); // Start with default empty state
 
-        Matcher matcher = TAG_PATTERN.matcher(text);
-        int lastIndex = 0;
-
-        while (matcher.find()) {
-            int start = matcher.start();
-            int end = matcher.end();
-
-            // Handle text BEFORE this tag (using the state at the top of the stack)
-            if (start > lastIndex) {
-                String content = text.substring(lastIndex, start);
-                Message segmentMsg = createStyledMessage(content, stateStack.peek());
-                root.insert(segmentMsg);
+        MarkupLexer lexer = new MarkupLexer(text, legacyCodes);
+        boolean hasMarkup = false;
+        int token;
+        while ((token = lexer.next()) != MarkupLexer.END) {
+            if (token == MarkupLexer.TEXT) {
+                // Text between tags uses the state at the top of the stack
+                String content = text.substring(lexer.start, lexer.end);
+                root.insert(createStyledMessage(content, stateStack.peek()));
+                continue;
             }
 
-            // Process the tag to update the Stack
-            boolean isClosing = "/".equals(matcher.group(1));
-            String tagName = matcher.group(2).toLowerCase();
-            String tagArg = matcher.group(3);
-
-            if (isClosing) {
+            hasMarkup = true;
+            if (token == MarkupLexer.LEGACY) {
+                // Legacy codes behave like the opening tag they stand for
+                String tagName = ColorUtils.getTagForCode(lexer.code);
+                if (tagName != null) {
+                    applyTag(stateStack, tagName, null);
+                }
+            } else if (lexer.closing) {
                 if (stateStack.size() > 1) {
                     stateStack.pop();
                 }
             } else {
-                // Start with the current state, and modify it
-                StyleState currentState = stateStack.peek();
-                StyleState newState = currentState.copy();
-
-                // If checking named colors directly
-                if (ColorUtils.hasNamedColor(tagName)) {
-                    newState = newState.withColor(ColorUtils.getNamedColor(tagName));
-                } else {
-                    switch (tagName) {
-                        case "color":
-                        case "c":
-                        case "colour":
-                            Color c = ColorUtils.parseColorArg(tagArg);
-                            if (c != null) newState = newState.withColor(c);
-                            break;
-
-                        case "grnt":
-                        case "gradient":
-                            if (tagArg != null) {
-                                List<Color> colors = parseGradientColors(tagArg);
-                                if (!colors.isEmpty()) {
-                                    newState = newState.withGradient(colors);
-                                }
-                            }
-                            break;
-
-                        case "bold":
-                        case "b":
-                            newState = newState.withBold(true);
-                            break;
-
-                        case "italic":
-                        case "i":
-                        case "em":
-                            newState = newState.withItalic(true);
-                            break;
-
-                        case "underline":
-                        case "u":
-                            newState = newState.withUnderlined(true);
-                            break;
-
-                        case "monospace":
-                        case "mono":
-                            newState = newState.withMonospace(true);
-                            break;
-
-                        case "link":
-                        case "url":
-                            if (tagArg != null) newState = newState.withLink(tagArg);
-                            break;
-
-                        case "reset":
-                        case "r":
-                            stateStack.clear();
-                            newState = new StyleState();
-                            break;
-                    }
-                }
-                stateStack.push(newState);
+                applyTag(stateStack, lexer.name.toLowerCase(), lexer.arg);
             }
-
-            lastIndex = end;
         }
 
-        if (lastIndex < text.length()) {
-            String content = text.substring(lastIndex);
-            Message segmentMsg = createStyledMessage(content, stateStack.peek());
-            root.insert(segmentMsg);
-        }
+        return hasMarkup ? root : Message.raw(text);
+    }
 
-        return root;
+    /** Pushes the style an opening tag produces onto the stack. */
+    private static void applyTag(Deque<StyleState> stateStack, String tagName, String tagArg) {
+        // Start with the current state, and modify it
+        StyleState currentState = stateStack.peek();
+        StyleState newState = currentState.copy();
+
+        // If checking named colors directly
+        if (ColorUtils.hasNamedColor(tagName)) {
+            newState = newState.withColor(ColorUtils.getNamedColor(tagName));
+        } else {
+            switch (tagName) {
+                case "color":
+                case "c":
+                case "colour":
+                    Color c = ColorUtils.parseColorArg(tagArg);
+                    if (c != null) newState = newState.withColor(c);
+                    break;
+
+                case "grnt":
+                case "gradient":
+                    if (tagArg != null) {
+                        List<Color> colors = parseGradientColors(tagArg);
+                        if (!colors.isEmpty()) {
+                            newState = newState.withGradient(colors);
+                        }
+                    }
+                    break;
+
+                case "bold":
+                case "b":
+                    newState = newState.withBold(true);
+                    break;
+
+                case "italic":
+                case "i":
+                case "em":
+                    newState = newState.withItalic(true);
+                    break;
+
+                case "underline":
+                case "u":
+                    newState = newState.withUnderlined(true);
+                    break;
+
+                case "monospace":
+                case "mono":
+                    newState = newState.withMonospace(true);
+                    break;
+
+                case "link":
+                case "url":
+                    if (tagArg != null) newState = newState.withLink(tagArg);
+                    break;
+
+                case "reset":
+                case "r":
+                    stateStack.clear();
+                    newState = new StyleState();
+                    break;
+            }
+        }
+        stateStack.push(newState);
     }
 
     /**
@@ -209,18 +219,14 @@ public class TinyMsg {
             return Message.raw("");
         }
         
-        // If it already contains legacy & codes, convert them to tags first
-        if (message.contains("&") && hasLegacyColorCodes(message)) {
-            message = ColorUtils.convertLegacyColorCodes(message);
-        }
-        
-        // Check if it contains color tags
-        if (!message.contains("<")) {
+        // Plain text needs no parsing
+        if (message.indexOf('<') < 0 && message.indexOf('&') < 0) {
             return Message.raw(message);
         }
         
         try {
-            return parse(message);
+            // Tags and legacy & codes are handled in the same pass
+            return parse(message, true);
         } catch (Exception e) {
             String errorMsg = e.getMessage();
             if (errorMsg == null) {
@@ -242,7 +248,7 @@ public class TinyMsg {
         if (text == null || text.isEmpty()) {
             return false;
         }
-        return text.matches(".*<[^>]+>.*");
+        return MarkupLexer.containsTag(text);
     }
 
     private static Message createStyledMessage(String content, StyleState state) {
@@ -263,27 +269,72 @@ public class TinyMsg {
         return msg;
     }
 
+    /**
+     * Colours a gradient run-length style: the per-character colours come from a cached ramp of at
+     * most {@link #MAX_GRADIENT_BANDS} bands, and each run of equal colour becomes a single segment. Whitespace joins the current run unless it would be underlined.
+     */
     private static Message applyGradient(String text, StyleState state) {
         Message container = Message.empty();
-        List<Color> colors = state.gradient;
         int length = text.length();
+        if (length == 0) {
+            return container;
+        }
 
-        for (int index = 0; index < length; index++) {
-            char ch = text.charAt(index);
-            float progress = index / (float) Math.max(length - 1, 1);
-            Color color = interpolateColor(colors, progress);
+        int[] ramp = gradientRamp(state.gradient, length);
+        int runStart = 0;
+        int runColor = ramp[0];
+        for (int index = 1; index < length; index++) {
+            if (ramp[index] == runColor || (!state.underlined && Character.isWhitespace(text.charAt(index)))) {
+                continue;
+            }
+            container.insert(createGradientRun(text.substring(runStart, index), runColor, state));
+            runStart = index;
+            runColor = ramp[index];
+        }
+        container.insert(createGradientRun(text.substring(runStart), runColor, state));
+        return container;
+    }
 
-            Message charMsg = Message.raw(String.valueOf(ch)).color(color);
+    private static Message createGradientRun(String content, int rgb, StyleState state) {
+        Message runMsg = Message.raw(content).color(new Color(rgb));
 
-            if (state.bold) charMsg = charMsg.bold(true);
-            if (state.italic) charMsg = charMsg.italic(true);
-            if (state.monospace) charMsg = charMsg.monospace(true);
-            if (state.underlined) charMsg.getFormattedMessage().underlined = MaybeBool.True;
-            if (state.link != null) charMsg = charMsg.link(state.link);
+        if (state.bold) runMsg = runMsg.bold(true);
+        if (state.italic) runMsg = runMsg.italic(true);
+        if (state.monospace) runMsg = runMsg.monospace(true);
+        if (state.underlined) runMsg.getFormattedMessage().underlined = MaybeBool.True;
+        if (state.link != null) runMsg = runMsg.link(state.link);
 
-            container.insert(charMsg);
+        return runMsg;
+    }
+
+    /**
+     * Returns the RGB colour of every character in a gradient of the given length. Characters are
+     * split into equal bands along the ramp and each band takes the colour at its position, with
+     * the first and last bands using the exact end colours.
+     */
+    private static int[] gradientRamp(List<Color> colors, int length) {
+        GradientKey key = new GradientKey(List.copyOf(colors), length);
+        int[] ramp = GRADIENT_RAMPS.get(key);
+        if (ramp != null) {
+            return ramp;
         }
-        return container;
+
+        int bands = Math.min(length, MAX_GRADIENT_BANDS);
+        int[] bandColors = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            float progress = band / (float) Math.max(bands - 1, 1);
+            bandColors[band] = interpolateColor(colors, progress).getRGB() & 0xFFFFFF;
+        }
+
+        ramp = new int[length];
+        for (int index = 0; index < length; index++) {
+            ramp[index] = bandColors[index * bands / length];
+        }
+        if (GRADIENT_RAMPS.size() >= MAX_GRADIENT_RAMPS) {
+            GRADIENT_RAMPS.clear();
+        }
+        GRADIENT_RAMPS.put(key, ramp);
+        return ramp;
     }
 
     private static List<Color> parseGradientColors(String arg) {
@@ -310,24 +361,4 @@ public class TinyMsg {
 
         return new Color(r, g, b);
     }
-
-    /**
-     * Checks if text contains legacy & color codes.
-     * 
-     * @param text The text to check
-     * @return true if legacy color codes are found
-     */
-    private static boolean hasLegacyColorCodes(String text) {
-        if (text == null || !text.contains("&")) {
-            return false;
-        }
-        
-        char[] chars = text.toCharArray();
-        for (int i = 0; i < chars.length - 1; i++) {
-            if (chars[i] == '&' && ColorUtils.isColorCode(chars[i + 1])) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,64 @@
+package com.jemsire.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A corrupt player file must fail its load as permanent, stay in place, and be copied aside once.
+ */
+class JsonPlayerDataStoreTest {
+    private File folder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        folder = Files.createTempDirectory("jemlives-json").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    void corruptFileIsReportedAndCopiedOnce() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        Path file = folder.toPath().resolve(uuid + ".json");
+        Files.writeString(file, "{\"lives\": ", StandardCharsets.UTF_8);
+        JsonPlayerDataStore store = new JsonPlayerDataStore(folder);
+
+        assertThrows(CorruptDataException.class, () -> store.load(uuid));
+        Path copy = folder.toPath().resolve(uuid + ".json.corrupt");
+        assertTrue(Files.exists(file), "the corrupt file stays in place");
+        assertEquals("{\"lives\": ", Files.readString(copy, StandardCharsets.UTF_8));
+
+        // A later load (e.g. the player reconnecting) fails the same way without copying again.
+        Files.writeString(copy, "inspected", StandardCharsets.UTF_8);
+        assertThrows(CorruptDataException.class, () -> store.load(uuid));
+        assertEquals("inspected", Files.readString(copy, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyFileIsCorrupt() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        Files.writeString(folder.toPath().resolve(uuid + ".json"), "", StandardCharsets.UTF_8);
+
+        assertThrows(CorruptDataException.class, () -> new JsonPlayerDataStore(folder).load(uuid));
+    }
+}
@@ -0,0 +1,139 @@
+package com.jemsire.storage;
+
+import com.jemsire.config.PlayerData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Round trips through SqlPlayerDataStore on both supported databases, so the H2 MERGE and the
+ * SQLite ON CONFLICT upserts and the lockout query are checked against a real driver.
+ */
+class SqlPlayerDataStoreTest {
+    private File folder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        folder = Files.createTempDirectory("jemlives-sql").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    /** File-backed URLs for every supported database, so data outlives a close. */
+    private List<String> urls() {
+        return List.of(
+                "jdbc:h2:" + new File(folder, "lives-h2").getAbsolutePath(),
+                "jdbc:sqlite:" + new File(folder, "lives.db").getAbsolutePath());
+    }
+
+    private static PlayerData data(int lives, long lastDeathTime) {
+        PlayerData data = new PlayerData();
+        data.setLives(lives);
+        data.setLastDeathTime(lastDeathTime);
+        return data;
+    }
+
+    private static void assertData(int lives, long lastDeathTime, PlayerData actual, String url) {
+        assertEquals(lives, actual.getLives(), url);
+        assertEquals(lastDeathTime, actual.getLastDeathTime(), url);
+    }
+
+    @Test
+    void savedPlayersLoadBack() throws Exception {
+        for (String url : urls()) {
+            UUID alive = UUID.randomUUID();
+            UUID dead = UUID.randomUUID();
+            SqlPlayerDataStore store = new SqlPlayerDataStore(url);
+            try {
+                store.saveAll(Map.of(alive, data(3, 0), dead, data(0, 1_700_000_000L)));
+
+                assertData(3, 0, store.load(alive), url);
+                assertData(0, 1_700_000_000L, store.load(dead), url);
+                assertNull(store.load(UUID.randomUUID()), url);
+            } finally {
+                store.close();
+            }
+        }
+    }
+
+    @Test
+    void savingAnExistingPlayerReplacesTheirRow() throws Exception {
+        for (String url : urls()) {
+            UUID uuid = UUID.randomUUID();
+            UUID other = UUID.randomUUID();
+            SqlPlayerDataStore store = new SqlPlayerDataStore(url);
+            try {
+                store.saveAll(Map.of(uuid, data(3, 0), other, data(2, 0)));
+                store.saveAll(Map.of(uuid, data(0, 1_700_000_123L)));
+
+                assertData(0, 1_700_000_123L, store.load(uuid), url);
+                Map<UUID, PlayerData> all = store.loadAll();
+                assertEquals(2, all.size(), url);
+                assertData(0, 1_700_000_123L, all.get(uuid), url);
+                assertData(2, 0, all.get(other), url);
+            } finally {
+                store.close();
+            }
+        }
+    }
+
+    @Test
+    void dataSurvivesReopening() throws Exception {
+        for (String url : urls()) {
+            UUID uuid = UUID.randomUUID();
+            SqlPlayerDataStore store = new SqlPlayerDataStore(url);
+            store.saveAll(Map.of(uuid, data(5, 0)));
+            store.close();
+
+            SqlPlayerDataStore reopened = new SqlPlayerDataStore(url);
+            try {
+                assertData(5, 0, reopened.load(uuid), url);
+            } finally {
+                reopened.close();
+            }
+        }
+    }
+
+    @Test
+    void lockoutsAreOnlyPlayersWithoutLivesWhoDiedRecently() throws Exception {
+        for (String url : urls()) {
+            UUID recent = UUID.randomUUID();
+            UUID expired = UUID.randomUUID();
+            UUID alive = UUID.randomUUID();
+            UUID neverDied = UUID.randomUUID();
+            Map<UUID, PlayerData> batch = new HashMap<>();
+            batch.put(recent, data(0, 2_000));
+            batch.put(expired, data(0, 500));
+            batch.put(alive, data(2, 2_000));
+            batch.put(neverDied, data(0, 0));
+
+            SqlPlayerDataStore store = new SqlPlayerDataStore(url);
+            try {
+                store.saveAll(batch);
+
+                assertEquals(Map.of(recent, 2_000L), store.loadLockouts(1_000), url);
+            } finally {
+                store.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.jemsire.utils;
+
+import com.hypixel.hytale.server.core.Message;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures what one death broadcast costs as the server fills up: formatting the message and
+ * fanning it out to 10-500 stub players spread over a few worlds, each with its own world thread.
+ * Publishes the caller's cost and the end-to-end cost per broadcast as report entries, and checks
+ * nothing is lost. Tagged so it only runs with {@code gradle benchmark}, not with the unit tests.
+ */
+@Tag("benchmark")
+class ChatBroadcasterBenchmark {
+    private static final int[] PLAYER_COUNTS = {10, 50, 100, 250, 500};
+    private static final int WORLDS = 4;
+    private static final int WARMUP_BROADCASTS = 2_000;
+    private static final int MEASURED_BROADCASTS = 5_000;
+    /** Generous ceiling on the end-to-end cost per recipient, to catch a fan-out that regressed badly. */
+    private static final long MAX_NANOS_PER_RECIPIENT = 50_000;
+    private static final String DEATH_MESSAGE = "<gradient:#FF0000:#FFAA00>Steve died and has 2 lives left</gradient>";
+
+    /** Stands in for a PlayerRef: a world and a count of messages received. */
+    private record StubPlayer(UUID worldUuid, AtomicInteger received) {
+        void sendMessage(Message message) {
+            received.incrementAndGet();
+        }
+    }
+
+    @Test
+    void deathBroadcastCostByPlayerCount(TestReporter reporter) throws Exception {
+        List<UUID> worldUuids = new ArrayList<>();
+        List<ExecutorService> worldThreads = new ArrayList<>();
+        for (int world = 0; world < WORLDS; world++) {
+            worldUuids.add(UUID.randomUUID());
+            worldThreads.add(Executors.newSingleThreadExecutor());
+        }
+
+        try {
+            for (int playerCount : PLAYER_COUNTS) {
+                List<StubPlayer> players = new ArrayList<>();
+                for (int index = 0; index < playerCount; index++) {
+                    players.add(new StubPlayer(worldUuids.get(index % WORLDS), new AtomicInteger()));
+                }
+
+                runBroadcasts(players, worldUuids, worldThreads, WARMUP_BROADCASTS);
+                drain(worldThreads);
+
+                long start = System.nanoTime();
+                long callerNanos = runBroadcasts(players, worldUuids, worldThreads, MEASURED_BROADCASTS);
+                drain(worldThreads);
+                long totalNanos = System.nanoTime() - start;
+
+                long nanosPerRecipient = totalNanos / ((long) MEASURED_BROADCASTS * playerCount);
+                reporter.publishEntry(playerCount + " players", "caller " + callerNanos / MEASURED_BROADCASTS
+                        + " ns/death, total " + totalNanos / MEASURED_BROADCASTS
+                        + " ns/death, " + nanosPerRecipient + " ns/recipient");
+
+                assertTrue(nanosPerRecipient < MAX_NANOS_PER_RECIPIENT,
+                        playerCount + " players: " + nanosPerRecipient + " ns per recipient");
+                for (StubPlayer player : players) {
+                    assertEquals(WARMUP_BROADCASTS + MEASURED_BROADCASTS, player.received().get());
+                }
+            }
+        } finally {
+            worldThreads.forEach(ExecutorService::shutdownNow);
+        }
+    }
+
+    /** Broadcasts the death message the given number of times; returns the time spent on the calling thread. */
+    private static long runBroadcasts(List<StubPlayer> players, List<UUID> worldUuids,
+                                      List<ExecutorService> worldThreads, int broadcasts) {
+        long start = System.nanoTime();
+        for (int broadcast = 0; broadcast < broadcasts; broadcast++) {
+            Message msg = MessageCache.format(DEATH_MESSAGE);
+            ChatBroadcaster.fanOut(players, StubPlayer::worldUuid,
+                    worldUuid -> worldThreads.get(worldUuids.indexOf(worldUuid)),
+                    player -> player.sendMessage(msg));
+        }
+        return System.nanoTime() - start;
+    }
+
+    /** Waits until every world thread has sent everything queued so far. */
+    private static void drain(List<ExecutorService> worldThreads) throws InterruptedException {
+        CountDownLatch drained = new CountDownLatch(worldThreads.size());
+        worldThreads.forEach(thread -> thread.execute(drained::countDown));
+        assertTrue(drained.await(30, TimeUnit.SECONDS), "world threads did not drain");
+    }
+}
@@ -0,0 +1,274 @@
+package com.jemsire.utils;
+
+import com.jemsire.config.LivesConfig;
+import com.jemsire.config.PlayerData;
+import com.jemsire.storage.CorruptDataException;
+import com.jemsire.storage.PlayerDataStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests for LivesManager's lives methods: many threads dying and gaining lives for the
+ * same player at once, including their first use and while the player is being evicted, must
+ * never lose or double-apply a change in the cache or in the store.
+ */
+class LivesManagerTest {
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 5_000;
+    private static final int INITIAL_LIVES = new LivesConfig().getInitialLivesMin();
+
+    /**
+     * Thread-safe store kept in memory; saved data is copied so the cache can't change it afterwards.
+     * Queued failures are thrown by the next loads, one each.
+     */
+    private static final class InMemoryStore implements PlayerDataStore {
+        final Map<UUID, PlayerData> players = new ConcurrentHashMap<>();
+        final Queue<IOException> loadFailures = new ConcurrentLinkedQueue<>();
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public PlayerData load(UUID uuid) throws IOException {
+            loads.incrementAndGet();
+            IOException failure = loadFailures.poll();
+            if (failure != null) {
+                throw failure;
+            }
+            PlayerData data = players.get(uuid);
+            return data != null ? data.copy() : null;
+        }
+
+        @Override
+        public Map<UUID, PlayerData> loadAll() {
+            Map<UUID, PlayerData> all = new HashMap<>();
+            players.forEach((uuid, data) -> all.put(uuid, data.copy()));
+            return all;
+        }
+
+        @Override
+        public void saveAll(Map<UUID, PlayerData> batch) {
+            batch.forEach((uuid, data) -> players.put(uuid, data.copy()));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private File dataFolder;
+    private InMemoryStore store;
+    private LivesManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Logger.setLevel(Level.WARNING);
+        dataFolder = Files.createTempDirectory("jemlives-test").toFile();
+        store = new InMemoryStore();
+        LivesConfig config = new LivesConfig();
+        manager = new LivesManager(dataFolder, () -> config);
+        manager.start(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+        dataFolder.delete();
+    }
+
+    /** Runs {@code task(threadIndex)} on every thread at once and waits for all of them. */
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int index = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int threadIndex) throws Exception;
+    }
+
+    /** Lives as the store has them after everything pending is written. */
+    private int storedLives(UUID uuid) {
+        manager.flush();
+        return store.players.get(uuid).getLives();
+    }
+
+    @Test
+    void concurrentDeathsAreNeverLost() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        int initial = THREADS * UPDATES_PER_THREAD + 1;
+        manager.setLives(uuid, initial);
+
+        runConcurrently(t -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                manager.removeLife(uuid);
+            }
+        });
+
+        assertEquals(1, manager.getLives(uuid), "every death applied exactly once");
+        assertEquals(1, storedLives(uuid));
+    }
+
+    @Test
+    void firstUseInitializesExactlyOnce() throws Exception {
+        UUID uuid = UUID.randomUUID();
+
+        // Nobody has loaded this player yet, so every thread races to load and initialize them.
+        runConcurrently(t -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                manager.addLife(uuid);
+            }
+        });
+
+        int expected = INITIAL_LIVES + THREADS * UPDATES_PER_THREAD;
+        assertEquals(expected, manager.getLives(uuid));
+        assertEquals(expected, storedLives(uuid));
+    }
+
+    @Test
+    void mixedDeathsAndAddedLivesBalanceExactly() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        // High enough that deaths can never reach 0 and be clamped, whatever the interleaving.
+        int initial = THREADS / 2 * UPDATES_PER_THREAD + 5;
+        manager.setLives(uuid, initial);
+
+        // Even threads die, odd threads gain lives; the net change is zero.
+        runConcurrently(t -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                if (t % 2 == 0) {
+                    manager.removeLife(uuid);
+                } else {
+                    manager.addLife(uuid);
+                }
+            }
+        });
+
+        assertEquals(initial, manager.getLives(uuid));
+        assertEquals(initial, storedLives(uuid));
+    }
+
+    @Test
+    void updatesSurviveConcurrentEviction() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        int initial = THREADS * UPDATES_PER_THREAD + 1;
+        manager.setLives(uuid, initial);
+
+        // The player is offline, so one thread keeps evicting them while the others die: every
+        // update either lands before the eviction saves it or reloads the saved data and retries.
+        AtomicBoolean dying = new AtomicBoolean(true);
+        Thread evictor = new Thread(() -> {
+            while (dying.get()) {
+                manager.evict(0, 0);
+            }
+        });
+        evictor.start();
+        try {
+            runConcurrently(t -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    manager.removeLife(uuid);
+                }
+            });
+        } finally {
+            dying.set(false);
+            evictor.join();
+        }
+
+        assertTrue(manager.getCache().getEvictions() > 0, "the player was evicted during the test");
+        assertEquals(1, manager.getLives(uuid), "no death lost to an eviction");
+        assertEquals(1, storedLives(uuid));
+    }
+
+    @Test
+    void corruptDataFailsWithoutRetrying() {
+        UUID uuid = UUID.randomUUID();
+        store.loadFailures.add(new CorruptDataException("corrupt", null));
+
+        assertThrows(UncheckedIOException.class, () -> manager.getLives(uuid));
+        assertEquals(1, store.loads.get(), "a corrupt player is read once");
+        assertNull(manager.getCache().peek(uuid), "nothing is cached for a player that failed to load");
+    }
+
+    @Test
+    void transientErrorsAreRetried() {
+        UUID uuid = UUID.randomUUID();
+        store.loadFailures.add(new IOException("busy"));
+        store.loadFailures.add(new IOException("busy"));
+
+        assertEquals(INITIAL_LIVES, manager.getLives(uuid));
+        assertEquals(3, store.loads.get());
+    }
+
+    @Test
+    void placeholderReadsNeverCreateOrLoadAPlayer() {
+        UUID uuid = UUID.randomUUID();
+
+        LivesSnapshot snapshot = manager.getSnapshot(uuid);
+        manager.flush();
+
+        assertEquals(0, snapshot.getLives());
+        assertEquals(0, store.loads.get(), "nothing read from the store");
+        assertTrue(store.players.isEmpty(), "no record written for an unknown player");
+        assertEquals(0, manager.getCache().size());
+    }
+
+    @Test
+    void evictedLockedOutPlayerIsServedFromTheLockoutIndex() {
+        UUID uuid = UUID.randomUUID();
+        manager.setLives(uuid, 1);
+        manager.removeLife(uuid);
+        manager.evict(0, 0);
+        int loads = store.loads.get();
+
+        LivesSnapshot first = manager.getSnapshot(uuid);
+        long now = System.currentTimeMillis() / 1000;
+        long regenTime = new LivesConfig().getRegenTimeMinutes() * 60L;
+
+        assertNull(manager.getCache().peek(uuid), "the player stays evicted");
+        assertTrue(first.isLockedOut(now, regenTime));
+        assertSame(first, manager.getSnapshot(uuid), "repeated reads reuse one snapshot");
+        assertEquals(loads, store.loads.get(), "nothing read from the store");
+    }
+}
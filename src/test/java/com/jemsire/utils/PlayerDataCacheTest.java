@@ -0,0 +1,157 @@
+package com.jemsire.utils;
+
+import com.jemsire.config.PlayerData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Stress tests for per-player atomic updates: many threads changing the same player's lives
+ * must never lose or double-apply a change.
+ */
+class PlayerDataCacheTest {
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 20_000;
+
+    /** Same copy-and-replace update LivesManager applies for a death or an added life. */
+    private static PlayerData addLives(PlayerDataCache cache, UUID uuid, int delta) {
+        return cache.computeIfPresent(uuid, current -> {
+            PlayerData next = current.copy();
+            next.setLives(next.getLives() + delta);
+            return next;
+        });
+    }
+
+    private static PlayerData withLives(int lives) {
+        PlayerData data = new PlayerData();
+        data.setLives(lives);
+        return data;
+    }
+
+    /** Runs {@code task(threadIndex)} on every thread at once and waits for all of them. */
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int index = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int threadIndex) throws Exception;
+    }
+
+    @Test
+    void concurrentDecrementsAreNeverLost() throws Exception {
+        PlayerDataCache cache = new PlayerDataCache();
+        UUID uuid = UUID.randomUUID();
+        int initial = THREADS * UPDATES_PER_THREAD;
+        cache.putIfAbsent(uuid, withLives(initial));
+
+        runConcurrently(t -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                addLives(cache, uuid, -1);
+            }
+        });
+
+        assertEquals(0, cache.peek(uuid).getLives(), "every decrement applied exactly once");
+    }
+
+    @Test
+    void mixedIncrementsAndDecrementsBalanceExactly() throws Exception {
+        PlayerDataCache cache = new PlayerDataCache();
+        UUID uuid = UUID.randomUUID();
+        cache.putIfAbsent(uuid, withLives(5));
+
+        // Even threads remove lives, odd threads add them; the net change is zero.
+        runConcurrently(t -> {
+            int delta = t % 2 == 0 ? -1 : 1;
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                addLives(cache, uuid, delta);
+            }
+        });
+
+        assertEquals(5, cache.peek(uuid).getLives());
+    }
+
+    @Test
+    void readersNeverSeeAPartialUpdate() throws Exception {
+        PlayerDataCache cache = new PlayerDataCache();
+        UUID uuid = UUID.randomUUID();
+        cache.putIfAbsent(uuid, withLives(0));
+
+        // Writers keep lastDeathTime equal to lives; readers check the pair is never torn.
+        runConcurrently(t -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                if (t % 2 == 0) {
+                    cache.computeIfPresent(uuid, current -> {
+                        PlayerData next = current.copy();
+                        next.setLives(next.getLives() + 1);
+                        next.setLastDeathTime(next.getLives());
+                        return next;
+                    });
+                } else {
+                    PlayerData seen = cache.peek(uuid);
+                    assertEquals(seen.getLives(), seen.getLastDeathTime(), "consistent lives/lastDeathTime pair");
+                }
+            }
+        });
+
+        assertEquals(THREADS / 2 * UPDATES_PER_THREAD, cache.peek(uuid).getLives());
+    }
+
+    @Test
+    void updateOfEvictedPlayerReturnsNull() {
+        PlayerDataCache cache = new PlayerDataCache();
+        UUID uuid = UUID.randomUUID();
+        cache.putIfAbsent(uuid, withLives(3));
+
+        cache.evict(0, 0, (id, data) -> true, id -> {});
+
+        assertNull(addLives(cache, uuid, -1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void onlyRemovedEntriesAreReportedEvicted() {
+        PlayerDataCache cache = new PlayerDataCache();
+        UUID kept = UUID.randomUUID();
+        UUID pinned = UUID.randomUUID();
+        UUID evicted = UUID.randomUUID();
+        cache.putIfAbsent(kept, withLives(1));
+        cache.putIfAbsent(pinned, withLives(2));
+        cache.putIfAbsent(evicted, withLives(3));
+        cache.pin(pinned);
+
+        List<UUID> reported = new ArrayList<>();
+        cache.evict(0, 0, (id, data) -> !id.equals(kept), reported::add);
+
+        assertEquals(List.of(evicted), reported);
+        assertEquals(2, cache.size());
+    }
+}